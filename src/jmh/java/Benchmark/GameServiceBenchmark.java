@@ -0,0 +1,91 @@
+package Benchmark;
+
+import Model.GameDrawings;
+import Model.GameHistory;
+import Model.GameMode;
+import Model.GameState;
+import Model.PrizeTable;
+import Service.GameService;
+import Service.RoundEngine;
+import Service.SeededRandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the per-round game logic in GameService and PrizeTable,
+ * and for a whole headless game played by the RoundEngine, run once for
+ * every game mode.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    @Param({"ONE_SPOT", "FOUR_SPOT", "EIGHT_SPOT", "TEN_SPOT"})
+    public GameMode gameMode;
+
+    // Seed of the draw sequence, so every run plays the same games
+    private static final long SEED = 42L;
+
+    private GameState gameState;
+    private GameService gameService;
+    private RoundEngine roundEngine;
+    private List<Integer> systemNumbers;
+    private int spots;
+
+    @Setup
+    public void setup() {
+        gameState = new GameState();
+        gameState.setGameMode(gameMode);
+        gameState.setGameDrawings(GameDrawings.FOUR_DRAWING);
+        gameService = new GameService(gameState, new SeededRandomSource(SEED));
+        roundEngine = new RoundEngine(gameService, gameState);
+        gameService.randomSelectNumbersForUser();
+        systemNumbers = gameService.randomSelectNumbersForSystem();
+        spots = gameMode.getMaxSpots();
+    }
+
+    @Benchmark
+    public List<Integer> randomSelectNumbersForSystem() {
+        return gameService.randomSelectNumbersForSystem();
+    }
+
+    @Benchmark
+    public List<Integer> getMatchedNumbers() {
+        return gameService.getMatchedNumbers(systemNumbers);
+    }
+
+    @Benchmark
+    public int getPrizeForHits() {
+        // Look up every hit count of the mode, as a settlement pass would
+        int total = 0;
+        for (int hits = 0; hits <= spots; hits++) {
+            total += PrizeTable.getPrizeForHits(spots, hits);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public GameHistory headlessGame() {
+        // Play every drawing of a game without any UI, then record it
+        GameHistory history = roundEngine.playGame();
+        // Keep the in-memory history from growing across invocations
+        gameState.getGameHistories().clear();
+        return history;
+    }
+}
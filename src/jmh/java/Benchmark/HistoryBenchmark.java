@@ -0,0 +1,53 @@
+package Benchmark;
+
+import Model.GameDrawings;
+import Model.GameHistory;
+import Model.GameMode;
+import Model.GameState;
+import Service.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for formatting the in-memory game history.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryBenchmark {
+
+    @Param({"10", "1000"})
+    public int historySize;
+
+    private GameService gameService;
+
+    @Setup
+    public void setup() {
+        GameState gameState = new GameState();
+        gameState.setGameMode(GameMode.TEN_SPOT);
+        gameState.setGameDrawings(GameDrawings.FOUR_DRAWING);
+        for (int i = 0; i < historySize; i++) {
+            gameState.addGameHistory(new GameHistory(4, i % 40, i * 5));
+        }
+        gameService = new GameService(gameState);
+    }
+
+    @Benchmark
+    public String generateHistoryText() {
+        return gameService.generateHistoryText();
+    }
+}
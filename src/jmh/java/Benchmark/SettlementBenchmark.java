@@ -0,0 +1,75 @@
+package Benchmark;
+
+import Model.NumberMask;
+import Model.PrizeTable;
+import Model.SettlementResult;
+import Model.TicketBatch;
+import Service.SettlementKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks one settlement kernel over a million random tickets on a single
+ * thread. The vector kernel needs the vector profile:
+ * mvn -Pbenchmark,vector compile exec:exec -Djmh.args="SettlementBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SettlementBenchmark {
+
+    @Param({"scalar", "vector"})
+    public String kernelName;
+
+    @Param({"1000000"})
+    public int ticketCount;
+
+    private SettlementKernel kernel;
+    private TicketBatch tickets;
+    private SettlementResult result;
+    private long drawLow;
+    private long drawHigh;
+
+    @Setup
+    public void setup() {
+        kernel = SettlementKernel.named(kernelName);
+        SplittableRandom random = new SplittableRandom(42L);
+        tickets = new TicketBatch(ticketCount);
+        for (int i = 0; i < ticketCount; i++) {
+            long low = 0L;
+            long high = 0L;
+            int spots = 1 + random.nextInt(PrizeTable.MAX_SPOTS);
+            while (NumberMask.size(low, high) < spots) {
+                int number = 1 + random.nextInt(NumberMask.MAX_NUMBER);
+                low |= NumberMask.lowBit(number);
+                high |= NumberMask.highBit(number);
+            }
+            tickets.add(low, high);
+        }
+        result = new SettlementResult(ticketCount);
+        result.reset(ticketCount);
+        drawLow = random.nextLong();
+        drawHigh = random.nextLong() & NumberMask.HIGH_WORD_MASK;
+    }
+
+    @Benchmark
+    public SettlementResult settle() {
+        kernel.settle(drawLow, drawHigh, tickets, result, 0, ticketCount);
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package Benchmark;
+
+import Model.NumberMask;
+import Model.SettlementResult;
+import Model.TicketBatch;
+import Model.TicketIndex;
+import Model.WinningTickets;
+import Service.SettlementKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks finding the winners of a large ticket population in one draw
+ * with a full scan of the batch and with the inverted number-to-ticket
+ * index, on a single thread. maxSpots caps the random spot counts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketIndexBenchmark {
+
+    @Param({"1000000"})
+    public int ticketCount;
+
+    @Param({"4", "10"})
+    public int maxSpots;
+
+    private TicketBatch tickets;
+    private TicketIndex index;
+    private SettlementResult result;
+    private WinningTickets winners;
+    private long drawLow;
+    private long drawHigh;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42L);
+        tickets = new TicketBatch(ticketCount);
+        for (int i = 0; i < ticketCount; i++) {
+            long low = 0L;
+            long high = 0L;
+            int spots = 1 + random.nextInt(maxSpots);
+            while (NumberMask.size(low, high) < spots) {
+                int number = 1 + random.nextInt(NumberMask.MAX_NUMBER);
+                low |= NumberMask.lowBit(number);
+                high |= NumberMask.highBit(number);
+            }
+            tickets.add(low, high);
+        }
+        index = TicketIndex.of(tickets);
+        result = new SettlementResult(ticketCount);
+        result.reset(ticketCount);
+        winners = new WinningTickets();
+        while (NumberMask.size(drawLow, drawHigh) < 20) {
+            int number = 1 + random.nextInt(NumberMask.MAX_NUMBER);
+            drawLow |= NumberMask.lowBit(number);
+            drawHigh |= NumberMask.highBit(number);
+        }
+    }
+
+    @Benchmark
+    public WinningTickets fullScan() {
+        SettlementKernel.scalar().settle(drawLow, drawHigh, tickets, result, 0, ticketCount);
+        winners.clear();
+        byte[] matches = result.matches();
+        int[] payouts = result.payouts();
+        for (int i = 0; i < ticketCount; i++) {
+            if (payouts[i] != 0) {
+                winners.add(i, matches[i], payouts[i]);
+            }
+        }
+        return winners;
+    }
+
+    @Benchmark
+    public WinningTickets invertedIndex() {
+        index.settle(drawLow, drawHigh, winners);
+        return winners;
+    }
+}
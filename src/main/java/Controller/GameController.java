@@ -5,8 +5,13 @@ import Model.GameMode;
 import Model.GameState;
 import Service.AnimationService;
 import Service.AudioService;
+import Service.DrawRing;
+import Service.DrawScheduler;
 import Service.GameService;
+import Service.HistoryJournal;
+import Service.RoundEngine;
 import Utils.MenuCallback;
+import Utils.StartupProfiler;
 import Utils.ThemeStyles;
 import View.Component.MenuFactory;
 import View.Component.NumberButton;
@@ -22,6 +27,9 @@ import javafx.scene.control.MenuItem;
  */
 public class GameController implements MenuCallback {
 
+    // Draws kept for consumers that read the draw ring behind the game
+    private static final int DRAW_RING_CAPACITY = 64;
+
     // Dependencies
     private GameView gameView;
     private GameService gameService;
@@ -38,10 +46,13 @@ public class GameController implements MenuCallback {
         // Initialize game state and services
         this.gameState = new GameState();
         this.gameService = new GameService(gameState);
+        openHistoryJournal();
 
-        // Initialize audio and animation services
-        this.audioService = new AudioService();
-        this.animationService = new AnimationService(audioService, gameService, gameView, gameState);
+        // Use the shared audio service and initialize animation services
+        this.audioService = AudioService.getInstance();
+        RoundEngine roundEngine = new RoundEngine(gameService, gameState);
+        roundEngine.setDrawRing(new DrawRing(DRAW_RING_CAPACITY, DrawRing.Policy.OVERWRITE));
+        this.animationService = new AnimationService(audioService, gameService, gameView, gameState, roundEngine);
 
         // Set up event handlers and menus
         setUpEventHandlers();
@@ -53,6 +64,33 @@ public class GameController implements MenuCallback {
         initializeView();
     }
 
+    /**
+     * Opens the persistent history journal; the game keeps history in memory if it cannot be opened.
+     */
+    private void openHistoryJournal() {
+        try {
+            gameService.setHistoryJournal(HistoryJournal.openDefault());
+        } catch (Exception e) {
+            System.err.println("Error opening history journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the history journal, committing any buffered records.
+     */
+    private void closeHistoryJournal() {
+        HistoryJournal journal = gameService.getHistoryJournal();
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (Exception e) {
+            System.err.println("Error closing history journal: " + e.getMessage());
+        }
+        gameService.setHistoryJournal(null);
+    }
+
     /**
      * Initializes the game view based on the current game state.
      */
@@ -62,9 +100,11 @@ public class GameController implements MenuCallback {
             gameView.disableAllButtons();
         }
 
-        // Show game rules window and mode notification on start
-        animationService.showGameRules();
-        animationService.showModeNotification();
+        // Show game rules window and mode notification once the game view is on screen
+        StartupProfiler.afterFirstFrame(gameView.getScene(), () -> {
+            animationService.showGameRules();
+            animationService.showModeNotification();
+        });
     }
 
     /**
@@ -118,6 +158,14 @@ public class GameController implements MenuCallback {
                         handleRandomSelection();
                     }
                     break;
+                // Draw animation controls
+                case S:
+                    animationService.skipDrawAnimation();
+                    break;
+                case F:
+                    DrawScheduler.Speed speed = animationService.cycleDrawSpeed();
+                    gameView.updateStatusLabel("Draw speed: " + speed.getDisplayName(), ThemeStyles.INFO_LABEL_STATUS_NEUTRAL);
+                    break;
                 default:
                     break;
             }
@@ -286,6 +334,7 @@ public class GameController implements MenuCallback {
      * Handles the back action to return to the welcome view.
      */
     private void handleBack() {
+        closeHistoryJournal();
         gameView.hide();
         if (welcomeView != null) {
             welcomeView.show();
@@ -312,11 +361,8 @@ public class GameController implements MenuCallback {
      * Handles the show history action.
      */
     private void handleShowHistory() {
-        // Generate and display game history window
-        String histories = gameState.getGameHistories().isEmpty()
-                ? "No game history available."
-                : gameService.generateHistoryText();
-        InfoWindow.showHistory(histories, gameView.getRoot());
+        // Display game history window, rows are loaded as the table scrolls
+        InfoWindow.showHistory(gameService.getHistorySource(), gameView.getRoot());
     }
 
     /**
@@ -348,6 +394,7 @@ public class GameController implements MenuCallback {
      */
     @Override
     public void onExitGame() {
+        closeHistoryJournal();
         gameView.getStage().close();
     }
 
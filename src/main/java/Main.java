@@ -10,6 +10,9 @@
  * Date: 2025-10-17
  */
 
+import Server.GameServer;
+import Server.LoadGenerator;
+import Utils.StartupProfiler;
 import View.WelcomeView;
 import javafx.application.Application;
 
@@ -18,13 +21,23 @@ import javafx.stage.Stage;
 
 public class Main extends Application {
 
-	public static void main(String[] args) {
+	public static void main(String[] args) throws Exception {
+        // Headless modes for load testing, no JavaFX window is opened
+        if (args.length > 0 && args[0].equals("--server")) {
+            GameServer.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--load")) {
+            LoadGenerator.run(args);
+            return;
+        }
 		launch(args);
 	}
 
 	@Override
 	public void start(Stage primaryStage) throws Exception {
         // Show the welcome view
+        StartupProfiler.mark("application start");
         WelcomeView welcomeView = new WelcomeView();
         welcomeView.show();
 	}
@@ -0,0 +1,78 @@
+package Model;
+
+/**
+ * GameEvent class is an immutable record of one change to the game state.
+ * Fields that do not apply to the event type are zero.
+ */
+public final class GameEvent {
+    /**
+     * Enumeration of event types
+     */
+    public enum Type {
+        ROUND_STARTED,  // round, totalRounds, seed
+        NUMBER_DRAWN,   // round, number, matched, matches so far
+        ROUND_SETTLED,  // round, matches, prize
+        GAME_FINISHED,  // the game was recorded and the totals cleared
+        GAME_RESET      // the game was abandoned and the totals cleared
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final int round;
+    private final int totalRounds;
+    private final int number;
+    private final boolean matched;
+    private final int matches;
+    private final int prize;
+    private final long seed;
+
+    // Constructor
+    public GameEvent(long sequence, Type type, int round, int totalRounds, int number, boolean matched, int matches, int prize, long seed) {
+        this.sequence = sequence;
+        this.type = type;
+        this.round = round;
+        this.totalRounds = totalRounds;
+        this.number = number;
+        this.matched = matched;
+        this.matches = matches;
+        this.prize = prize;
+        this.seed = seed;
+    }
+
+    // Getters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public int getTotalRounds() {
+        return totalRounds;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public boolean isMatched() {
+        return matched;
+    }
+
+    public int getMatches() {
+        return matches;
+    }
+
+    public int getPrize() {
+        return prize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,141 @@
+package Model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GameEventLog class keeps the most recent game events in a preallocated,
+ * single-writer ring of primitive columns. Appending never allocates or locks;
+ * any number of reader threads may read events by sequence number. Each slot
+ * carries the sequence number it holds, written last, so a reader that falls
+ * more than the capacity behind gets null for an overwritten event instead
+ * of a torn one.
+ */
+public class GameEventLog {
+    private static final GameEvent.Type[] TYPES = GameEvent.Type.values();
+    private static final VarHandle STAMPS = MethodHandles.arrayElementVarHandle(long[].class);
+    // Stamp of a slot that is empty or being written
+    private static final long NO_EVENT = -1L;
+
+    private final int mask;
+    private final byte[] types;
+    private final int[] rounds;
+    private final int[] firstValues;
+    private final int[] secondValues;
+    private final long[] seeds;
+    // stamps[slot] is the sequence number held by the slot
+    private final long[] stamps;
+    // Sequence number of the next event; events below it are published
+    private final AtomicLong published = new AtomicLong();
+
+    // Constructor, capacity is rounded up to a power of two
+    public GameEventLog(int capacity) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid event log capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.types = new byte[size];
+        this.rounds = new int[size];
+        this.firstValues = new int[size];
+        this.secondValues = new int[size];
+        this.seeds = new long[size];
+        this.stamps = new long[size];
+        Arrays.fill(stamps, NO_EVENT);
+    }
+
+    /**
+     * Append an event. Must only be called by the single writer thread.
+     * @param type - event type
+     * @param round - round of the event
+     * @param first - totalRounds, number (negated when matched) or matches, by type
+     * @param second - matches so far or prize, by type
+     * @param seed - draw seed for round starts
+     * @return sequence number of the event
+     */
+    long append(GameEvent.Type type, int round, int first, int second, long seed) {
+        long sequence = published.get();
+        int slot = (int) sequence & mask;
+        // Invalidate the slot before its fields change
+        STAMPS.setOpaque(stamps, slot, NO_EVENT);
+        VarHandle.storeStoreFence();
+        types[slot] = (byte) type.ordinal();
+        rounds[slot] = round;
+        firstValues[slot] = first;
+        secondValues[slot] = second;
+        seeds[slot] = seed;
+        // Release the slot's writes before its stamp and the new sequence become visible
+        STAMPS.setRelease(stamps, slot, sequence);
+        published.lazySet(sequence + 1);
+        return sequence;
+    }
+
+    /**
+     * Get the sequence number the next event will have.
+     * @return number of events ever appended
+     */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * Get the oldest sequence number still held by the ring.
+     * @return oldest readable sequence number
+     */
+    public long getOldestSequence() {
+        return Math.max(0, published.get() - capacity());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Read an event by sequence number.
+     * @param sequence - sequence number of the event
+     * @return the event, or null if it is not published yet or already overwritten
+     */
+    public GameEvent read(long sequence) {
+        if (sequence < 0 || sequence >= published.get()) {
+            return null;
+        }
+        int slot = (int) sequence & mask;
+        if ((long) STAMPS.getAcquire(stamps, slot) != sequence) {
+            return null;
+        }
+        GameEvent.Type type = TYPES[types[slot]];
+        int round = rounds[slot];
+        int first = firstValues[slot];
+        int second = secondValues[slot];
+        long seed = seeds[slot];
+        // The writer may have lapped this slot while it was read
+        VarHandle.loadLoadFence();
+        if ((long) STAMPS.getOpaque(stamps, slot) != sequence) {
+            return null;
+        }
+        return decode(sequence, type, round, first, second, seed);
+    }
+
+    /**
+     * Turn the columns of one slot back into an event.
+     * @return the decoded event
+     */
+    private static GameEvent decode(long sequence, GameEvent.Type type, int round, int first, int second, long seed) {
+        switch (type) {
+            case ROUND_STARTED:
+                return new GameEvent(sequence, type, round, first, 0, false, 0, 0, seed);
+            case NUMBER_DRAWN:
+                boolean matched = first < 0;
+                return new GameEvent(sequence, type, round, 0, matched ? -first : first, matched, second, 0, 0L);
+            case ROUND_SETTLED:
+                return new GameEvent(sequence, type, round, 0, 0, false, first, second, 0L);
+            default:
+                return new GameEvent(sequence, type, round, 0, 0, false, 0, 0, 0L);
+        }
+    }
+}
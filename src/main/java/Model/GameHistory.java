@@ -7,9 +7,9 @@ package Model;
 public class GameHistory {
     private int totalRounds;
     private int totalMatchedCount;
-    private int totalPrize;
+    private long totalPrize;
 
-    public GameHistory(int totalRounds, int totalMatchedCount, int totalPrize) {
+    public GameHistory(int totalRounds, int totalMatchedCount, long totalPrize) {
         this.totalRounds = totalRounds;
         this.totalMatchedCount = totalMatchedCount;
         this.totalPrize = totalPrize;
@@ -23,7 +23,7 @@ public class GameHistory {
         return totalMatchedCount;
     }
 
-    public int getTotalPrize() {
+    public long getTotalPrize() {
         return totalPrize;
     }
 
@@ -0,0 +1,99 @@
+package Model;
+
+/**
+ * GameSnapshot class is an immutable, consistent view of the game counters.
+ * Snapshots are built by folding game events, so a snapshot can also be
+ * rebuilt from an event log by applying its events in order.
+ */
+public final class GameSnapshot {
+    public static final GameSnapshot EMPTY = new GameSnapshot(0L, 0, 0, 0, 0L, 0L, 0L, 0L);
+
+    private final long version;
+    private final int currentRound;
+    private final int totalRounds;
+    private final int currentMatchCount;
+    private final long totalMatchCount;
+    private final long totalWinnings;
+    private final long gamesPlayed;
+    private final long lastSeed;
+
+    // Constructor
+    public GameSnapshot(long version, int currentRound, int totalRounds, int currentMatchCount, long totalMatchCount, long totalWinnings, long gamesPlayed, long lastSeed) {
+        this.version = version;
+        this.currentRound = currentRound;
+        this.totalRounds = totalRounds;
+        this.currentMatchCount = currentMatchCount;
+        this.totalMatchCount = totalMatchCount;
+        this.totalWinnings = totalWinnings;
+        this.gamesPlayed = gamesPlayed;
+        this.lastSeed = lastSeed;
+    }
+
+    /**
+     * Fold one event into a new snapshot.
+     * @param event - the next event
+     * @return the snapshot after the event
+     */
+    public GameSnapshot apply(GameEvent event) {
+        long nextVersion = event.getSequence() + 1;
+        switch (event.getType()) {
+            case ROUND_STARTED:
+                return new GameSnapshot(nextVersion, event.getRound(), event.getTotalRounds(), 0, totalMatchCount, totalWinnings, gamesPlayed, event.getSeed());
+            case NUMBER_DRAWN:
+                return new GameSnapshot(nextVersion, currentRound, totalRounds, event.getMatches(), totalMatchCount, totalWinnings, gamesPlayed, lastSeed);
+            case ROUND_SETTLED:
+                return new GameSnapshot(nextVersion, currentRound, totalRounds, event.getMatches(), totalMatchCount + event.getMatches(), Math.addExact(totalWinnings, event.getPrize()), gamesPlayed, lastSeed);
+            case GAME_FINISHED:
+                return new GameSnapshot(nextVersion, 0, 0, 0, 0, 0, gamesPlayed + 1, lastSeed);
+            default:
+                return new GameSnapshot(nextVersion, 0, 0, 0, 0, 0, gamesPlayed, lastSeed);
+        }
+    }
+
+    /**
+     * Get the number of events folded into this snapshot.
+     * @return version of the snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    public int getTotalRounds() {
+        return totalRounds;
+    }
+
+    public int getCurrentMatchCount() {
+        return currentMatchCount;
+    }
+
+    public long getTotalMatchCount() {
+        return totalMatchCount;
+    }
+
+    public long getTotalWinnings() {
+        return totalWinnings;
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public long getLastSeed() {
+        return lastSeed;
+    }
+
+    /**
+     * Check if two snapshots hold the same counters.
+     * @param other - snapshot to compare with
+     * @return True if every field is equal, false otherwise.
+     */
+    public boolean sameState(GameSnapshot other) {
+        return version == other.version && currentRound == other.currentRound && totalRounds == other.totalRounds
+                && currentMatchCount == other.currentMatchCount && totalMatchCount == other.totalMatchCount
+                && totalWinnings == other.totalWinnings && gamesPlayed == other.gamesPlayed && lastSeed == other.lastSeed;
+    }
+}
@@ -1,12 +1,24 @@
 package Model;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * GameState class manages the state of the game including configurations,
  * selected numbers, game history, and tracking of matches and winnings.
+ * The counters are event-sourced: every change is appended to an event log
+ * and applied to primitive running counters. At every round and game boundary
+ * the game thread copies the counters into boundary fields, guarded by the
+ * write side of a StampedLock that readers never hold. Readers on other
+ * threads copy those fields with optimistic reads, retrying if a boundary
+ * moved under them, and build an immutable snapshot outside any lock. The
+ * newest snapshot is shared through one volatile reference that is only
+ * ever replaced by a newer version, so readers reuse it until the next
+ * boundary. Publishing is a few field stores, so playing rounds that nobody
+ * reads allocates nothing, and a reader can never stall the game thread.
  */
 public class GameState {
     // Game configuration fields
@@ -16,18 +28,48 @@ public class GameState {
     private List<GameHistory> gameHistories;
     private boolean cheatMode = false;
 
-    // Tracking fields
-    private Integer currentMatchCount = 0;
-    private Integer currentRound;
-    private Integer totalMatchCount = 0;
-    private Integer totalWinnings = 0;
+    // Events kept for readers of the game history, newest last
+    private static final int EVENT_LOG_CAPACITY = 1 << 12;
+    private final GameEventLog eventLog = new GameEventLog(EVENT_LOG_CAPACITY);
+    // Newest snapshot handed out, only replaced by a newer version
+    private volatile GameSnapshot snapshot = GameSnapshot.EMPTY;
+    private static final VarHandle SNAPSHOT;
+    // Thread that last changed the counters
+    private volatile Thread writerThread;
+
+    // Counters as of the last round or game boundary, written under boundaryLock, read optimistically
+    private final StampedLock boundaryLock = new StampedLock();
+    private long boundaryVersion;
+    private int boundaryRound;
+    private int boundaryTotalRounds;
+    private int boundaryMatchCount;
+    private long boundaryTotalMatchCount;
+    private long boundaryWinnings;
+    private long boundaryGamesPlayed;
+    private long boundarySeed;
+
+    // Tracking fields, written only by the thread playing the game
+    private int currentMatchCount;
+    private int currentRound;
+    private int totalRounds;
+    private long totalMatchCount;
+    private long totalWinnings;
+    private long gamesPlayed;
+    private long lastSeed;
+
+    static {
+        try {
+            SNAPSHOT = MethodHandles.lookup().findVarHandle(GameState.class, "snapshot", GameSnapshot.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
 
     // Constructor
     public GameState(){
         this.selectedNumbers = new ArrayList<>();
         this.gameHistories = new ArrayList<>();
         this.cheatMode = false;
-        this.currentRound = 0;
     }
 
     // Getters and Setters
@@ -76,51 +118,184 @@ public class GameState {
         this.cheatMode = cheatMode;
     }
 
-    public Integer getCurrentMatchCount() {
-        return currentMatchCount;
+    // ============ Event-sourced counters ============
+    // Each method below appends one event and applies it to the running counters.
+    // They are called by the thread playing the game, as are the counter getters.
+
+    /**
+     * Start a new round.
+     * @param totalRounds - the number of rounds in the game
+     * @param seed - the seed of the round's draw
+     */
+    public void roundStarted(int totalRounds, long seed) {
+        currentRound += 1;
+        currentMatchCount = 0;
+        this.totalRounds = totalRounds;
+        lastSeed = seed;
+        eventLog.append(GameEvent.Type.ROUND_STARTED, currentRound, totalRounds, 0, seed);
+        reachBoundary();
     }
 
-    public void incrementCurrentMatchCount() {
-        this.currentMatchCount += 1;
+    /**
+     * Record a drawn number of the current round.
+     * @param number - the drawn number
+     * @param matched - whether the user picked the number
+     */
+    public void numberDrawn(int number, boolean matched) {
+        if (matched) {
+            currentMatchCount += 1;
+        }
+        eventLog.append(GameEvent.Type.NUMBER_DRAWN, currentRound, matched ? -number : number, currentMatchCount, 0L);
     }
 
-    public void resetCurrentMatchCount() {
-        this.currentMatchCount = 0;
+    /**
+     * Settle the current round into the game totals.
+     * @param prize - the prize won in the round
+     * @throws ArithmeticException if the winnings would overflow
+     */
+    public void roundSettled(int prize) {
+        totalMatchCount += currentMatchCount;
+        totalWinnings = Math.addExact(totalWinnings, prize);
+        eventLog.append(GameEvent.Type.ROUND_SETTLED, currentRound, currentMatchCount, prize, 0L);
+        reachBoundary();
     }
 
-    public Integer getCurrentRound() {
-        return currentRound;
+    /**
+     * Finish the game after it has been recorded, clearing the counters.
+     */
+    public void gameFinished() {
+        gamesPlayed += 1;
+        eventLog.append(GameEvent.Type.GAME_FINISHED, currentRound, 0, 0, 0L);
+        clearCounters();
     }
 
-    public void incrementRound() {
-        this.currentRound += 1;
+    /**
+     * Abandon the current game, clearing the counters.
+     */
+    public void gameReset() {
+        eventLog.append(GameEvent.Type.GAME_RESET, currentRound, 0, 0, 0L);
+        clearCounters();
     }
 
-    public void resetCurrentRound() {
-        this.currentRound = 0;
+    /**
+     * Clear the counters of the current game.
+     */
+    private void clearCounters() {
+        currentRound = 0;
+        totalRounds = 0;
+        currentMatchCount = 0;
+        totalMatchCount = 0;
+        totalWinnings = 0;
+        reachBoundary();
     }
 
-    public Integer getTotalMatchCount() {
-        return totalMatchCount;
+    /**
+     * Mark a round or game boundary, publishing the counters to other threads.
+     */
+    private void reachBoundary() {
+        writerThread = Thread.currentThread();
+        long stamp = boundaryLock.writeLock();
+        boundaryVersion = eventLog.getPublishedCount();
+        boundaryRound = currentRound;
+        boundaryTotalRounds = totalRounds;
+        boundaryMatchCount = currentMatchCount;
+        boundaryTotalMatchCount = totalMatchCount;
+        boundaryWinnings = totalWinnings;
+        boundaryGamesPlayed = gamesPlayed;
+        boundarySeed = lastSeed;
+        boundaryLock.unlockWrite(stamp);
     }
 
-    public void addToTotalMatchCount(int matches) {
-            this.totalMatchCount += matches;
+    /**
+     * Get a consistent snapshot of the counters. Safe to call from any thread
+     * and never blocks. The thread playing the game always gets the current
+     * counters; other threads get the counters as of the last round or game
+     * boundary, or newer. Only the caller allocates, and only when the
+     * counters have moved on.
+     * @return consistent view of the counters
+     */
+    public GameSnapshot getSnapshot() {
+        GameSnapshot current = snapshot;
+        if (Thread.currentThread() == writerThread) {
+            if (current.getVersion() != eventLog.getPublishedCount()) {
+                current = publish(new GameSnapshot(eventLog.getPublishedCount(), currentRound, totalRounds, currentMatchCount, totalMatchCount, totalWinnings, gamesPlayed, lastSeed));
+            }
+            return current;
+        }
+        long version;
+        int round;
+        int rounds;
+        int matchCount;
+        long totalMatches;
+        long winnings;
+        long games;
+        long seed;
+        while (true) {
+            long stamp = boundaryLock.tryOptimisticRead();
+            if (stamp == 0L) {
+                // The game thread is copying a boundary, which takes a few stores
+                Thread.onSpinWait();
+                continue;
+            }
+            version = boundaryVersion;
+            if (version <= current.getVersion()) {
+                if (boundaryLock.validate(stamp)) {
+                    return current;
+                }
+                continue;
+            }
+            round = boundaryRound;
+            rounds = boundaryTotalRounds;
+            matchCount = boundaryMatchCount;
+            totalMatches = boundaryTotalMatchCount;
+            winnings = boundaryWinnings;
+            games = boundaryGamesPlayed;
+            seed = boundarySeed;
+            if (boundaryLock.validate(stamp)) {
+                break;
+            }
+        }
+        return publish(new GameSnapshot(version, round, rounds, matchCount, totalMatches, winnings, games, seed));
     }
 
-    public void resetTotalMatchCount() {
-        this.totalMatchCount = 0;
+    /**
+     * Share a snapshot unless a newer one has been shared meanwhile.
+     * @param built - the snapshot just built
+     * @return the newest shared snapshot, built or the one already there
+     */
+    private GameSnapshot publish(GameSnapshot built) {
+        GameSnapshot current = snapshot;
+        while (current.getVersion() < built.getVersion()) {
+            if (SNAPSHOT.compareAndSet(this, current, built)) {
+                return built;
+            }
+            current = snapshot;
+        }
+        return current;
     }
 
-    public Integer getTotalWinnings() {
-        return totalWinnings;
+    public GameEventLog getEventLog() {
+        return eventLog;
     }
 
-    public void addToTotalWinnings(int amount) {
-        this.totalWinnings += amount;
+    // Running counters, for the thread playing the game
+    public int getCurrentMatchCount() {
+        return currentMatchCount;
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    public long getTotalMatchCount() {
+        return totalMatchCount;
+    }
+
+    public long getTotalWinnings() {
+        return totalWinnings;
     }
 
-    public void resetTotalWinnings() {
-        this.totalWinnings = 0;
+    public long getGamesPlayed() {
+        return gamesPlayed;
     }
 }
@@ -0,0 +1,156 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NumberMask class packs a set of Keno numbers (1 - 80) into two 64-bit words.
+ * Number n is stored as bit (n - 1): numbers 1 - 64 live in the low word and
+ * numbers 65 - 80 in the bottom 16 bits of the high word.
+ * All operations work on primitive words, so matching a ticket against a draw
+ * is two ANDs and two popcounts with no allocation.
+ */
+public final class NumberMask {
+    // Highest number on the Keno board
+    public static final int MAX_NUMBER = 80;
+    // Numbers stored in the low word
+    public static final int LOW_WORD_BITS = 64;
+    // Bits of the high word that map to numbers 65 - 80
+    public static final long HIGH_WORD_MASK = 0xFFFFL;
+
+    private NumberMask() {
+    }
+
+    /**
+     * Get the low-word bit for a number.
+     * @param number - number between 1 and 80
+     * @return bit for the number, or 0 if it belongs to the high word
+     */
+    public static long lowBit(int number) {
+        return number <= LOW_WORD_BITS ? 1L << (number - 1) : 0L;
+    }
+
+    /**
+     * Get the high-word bit for a number.
+     * @param number - number between 1 and 80
+     * @return bit for the number, or 0 if it belongs to the low word
+     */
+    public static long highBit(int number) {
+        return number > LOW_WORD_BITS ? 1L << (number - 1 - LOW_WORD_BITS) : 0L;
+    }
+
+    /**
+     * Check if a number is present in a mask.
+     * @param low - low word of the mask
+     * @param high - high word of the mask
+     * @param number - number between 1 and 80
+     * @return true if the number is set, false otherwise
+     */
+    public static boolean contains(long low, long high, int number) {
+        return ((low & lowBit(number)) | (high & highBit(number))) != 0;
+    }
+
+    /**
+     * Build the low word of a mask from a list of numbers.
+     * @param numbers - distinct numbers between 1 and 80
+     * @return low word of the mask
+     * @throws IllegalArgumentException if a number is out of range or repeated
+     */
+    public static long lowWord(List<Integer> numbers) {
+        long low = 0L;
+        for (int i = 0; i < numbers.size(); i++) {
+            int number = checkNumber(numbers.get(i));
+            long bit = lowBit(number);
+            if ((low & bit) != 0) {
+                throw new IllegalArgumentException("Repeated number: " + number);
+            }
+            low |= bit;
+        }
+        return low;
+    }
+
+    /**
+     * Build the high word of a mask from a list of numbers.
+     * @param numbers - distinct numbers between 1 and 80
+     * @return high word of the mask
+     * @throws IllegalArgumentException if a number is out of range or repeated
+     */
+    public static long highWord(List<Integer> numbers) {
+        long high = 0L;
+        for (int i = 0; i < numbers.size(); i++) {
+            int number = checkNumber(numbers.get(i));
+            long bit = highBit(number);
+            if ((high & bit) != 0) {
+                throw new IllegalArgumentException("Repeated number: " + number);
+            }
+            high |= bit;
+        }
+        return high;
+    }
+
+    /**
+     * Check if a number is on the Keno board.
+     * @param number - the number
+     * @return True if the number is between 1 and 80, false otherwise.
+     */
+    public static boolean isValidNumber(int number) {
+        return number >= 1 && number <= MAX_NUMBER;
+    }
+
+    private static int checkNumber(int number) {
+        if (!isValidNumber(number)) {
+            throw new IllegalArgumentException("Invalid number: " + number);
+        }
+        return number;
+    }
+
+    /**
+     * Count the numbers present in both masks.
+     * @param pickLow - low word of the player's picks
+     * @param pickHigh - high word of the player's picks
+     * @param drawLow - low word of the drawn numbers
+     * @param drawHigh - high word of the drawn numbers
+     * @return number of matches
+     */
+    public static int matchCount(long pickLow, long pickHigh, long drawLow, long drawHigh) {
+        return Long.bitCount(pickLow & drawLow) + Long.bitCount(pickHigh & drawHigh);
+    }
+
+    /**
+     * Check that a mask only uses bits that map to numbers 1 - 80.
+     * @param high - high word of the mask
+     * @return true if no bit above number 80 is set
+     */
+    public static boolean isValidHighWord(long high) {
+        return (high & ~HIGH_WORD_MASK) == 0;
+    }
+
+    /**
+     * Count the numbers present in a mask.
+     * @param low - low word of the mask
+     * @param high - high word of the mask
+     * @return number of set numbers
+     */
+    public static int size(long low, long high) {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    /**
+     * Expand a mask into an ascending list of numbers.
+     * @param low - low word of the mask
+     * @param high - high word of the mask
+     * @return list of numbers in ascending order
+     */
+    public static List<Integer> toList(long low, long high) {
+        List<Integer> numbers = new ArrayList<>(size(low, high));
+        while (low != 0) {
+            numbers.add(Long.numberOfTrailingZeros(low) + 1);
+            low &= low - 1;
+        }
+        while (high != 0) {
+            numbers.add(Long.numberOfTrailingZeros(high) + 1 + LOW_WORD_BITS);
+            high &= high - 1;
+        }
+        return numbers;
+    }
+}
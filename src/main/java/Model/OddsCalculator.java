@@ -0,0 +1,146 @@
+package Model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * OddsCalculator class computes exact Keno probabilities from combinatorics.
+ * Picking n spots out of 80 while 20 numbers are drawn, the chance of k hits is
+ * C(20,k) * C(60,n-k) / C(80,n). All tables are built once in the static block,
+ * so every getter is an array lookup.
+ */
+public final class OddsCalculator {
+    // Numbers on the board and numbers drawn per round
+    public static final int BOARD_SIZE = 80;
+    public static final int DRAW_SIZE = 20;
+    private static final MathContext PRECISION = MathContext.DECIMAL128;
+
+    // Pascal triangle C(n,k) for n <= 80, k <= 20; C(80,20) still fits in a long
+    private static final long[][] BINOMIALS = new long[BOARD_SIZE + 1][DRAW_SIZE + 1];
+    // Probability of [spots][hits]
+    private static final double[][] HIT_PROBABILITIES = new double[PrizeTable.MAX_SPOTS + 1][PrizeTable.MAX_SPOTS + 1];
+    // Exact expected payout of a $1 bet per spot count
+    private static final BigDecimal[] EXPECTED_PAYOUTS = new BigDecimal[PrizeTable.MAX_SPOTS + 1];
+    // Derived per-spot statistics
+    private static final double[] WIN_PROBABILITIES = new double[PrizeTable.MAX_SPOTS + 1];
+    private static final double[] PAYOUT_VARIANCES = new double[PrizeTable.MAX_SPOTS + 1];
+
+    static {
+        for (int n = 0; n <= BOARD_SIZE; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, DRAW_SIZE); k++) {
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + (k < n ? BINOMIALS[n - 1][k] : 0);
+            }
+        }
+
+        for (int spots = 0; spots <= PrizeTable.MAX_SPOTS; spots++) {
+            BigInteger total = BigInteger.valueOf(binomial(BOARD_SIZE, spots));
+            BigInteger payoutWays = BigInteger.ZERO;
+            double secondMoment = 0.0;
+            for (int hits = 0; hits <= spots; hits++) {
+                BigInteger ways = BigInteger.valueOf(binomial(DRAW_SIZE, hits))
+                        .multiply(BigInteger.valueOf(binomial(BOARD_SIZE - DRAW_SIZE, spots - hits)));
+                double probability = new BigDecimal(ways).divide(new BigDecimal(total), PRECISION).doubleValue();
+                int prize = PrizeTable.getPrizeForHits(spots, hits);
+                HIT_PROBABILITIES[spots][hits] = probability;
+                payoutWays = payoutWays.add(ways.multiply(BigInteger.valueOf(prize)));
+                secondMoment += probability * prize * prize;
+                if (PrizeTable.isValidPrize(spots, hits)) {
+                    WIN_PROBABILITIES[spots] += probability;
+                }
+            }
+            EXPECTED_PAYOUTS[spots] = new BigDecimal(payoutWays).divide(new BigDecimal(total), PRECISION);
+            double mean = EXPECTED_PAYOUTS[spots].doubleValue();
+            PAYOUT_VARIANCES[spots] = secondMoment - mean * mean;
+        }
+    }
+
+    private OddsCalculator() {
+    }
+
+    /**
+     * Get the binomial coefficient C(n,k) from the cached triangle.
+     * Only coefficients with k or n-k at most 20 are cached, which covers every Keno case.
+     * @param n - set size, 0 to 80
+     * @param k - subset size
+     * @return C(n,k), or 0 if out of range
+     */
+    public static long binomial(int n, int k) {
+        if (n < 0 || n > BOARD_SIZE || k < 0 || k > n) {
+            return 0;
+        }
+        if (k > DRAW_SIZE) {
+            k = n - k;
+        }
+        return k > DRAW_SIZE ? 0 : BINOMIALS[n][k];
+    }
+
+    /**
+     * Get the exact probability of a number of hits.
+     * @param spots - number of spots picked
+     * @param hits - number of hits
+     * @return probability between 0 and 1, or 0 if out of range
+     */
+    public static double getHitProbability(int spots, int hits) {
+        if (spots < 0 || spots > PrizeTable.MAX_SPOTS || hits < 0 || hits > spots) {
+            return 0.0;
+        }
+        return HIT_PROBABILITIES[spots][hits];
+    }
+
+    /**
+     * Get the probability that a ticket wins any prize.
+     * @param spots - number of spots picked
+     * @return probability between 0 and 1
+     */
+    public static double getWinProbability(int spots) {
+        if (spots < 0 || spots > PrizeTable.MAX_SPOTS) {
+            return 0.0;
+        }
+        return WIN_PROBABILITIES[spots];
+    }
+
+    /**
+     * Get the overall odds of winning any prize, expressed as "1 in X".
+     * @param spots - number of spots picked
+     * @return X, or 0 if nothing can be won
+     */
+    public static double getOverallOdds(int spots) {
+        double probability = getWinProbability(spots);
+        return probability > 0 ? 1.0 / probability : 0.0;
+    }
+
+    /**
+     * Get the exact expected payout of a $1 bet.
+     * @param spots - number of spots picked
+     * @return expected payout, which is also the return to player
+     */
+    public static BigDecimal getExpectedPayoutExact(int spots) {
+        if (spots < 0 || spots > PrizeTable.MAX_SPOTS) {
+            return BigDecimal.ZERO;
+        }
+        return EXPECTED_PAYOUTS[spots];
+    }
+
+    /**
+     * Get the expected payout of a $1 bet.
+     * @param spots - number of spots picked
+     * @return expected payout as a double
+     */
+    public static double getExpectedPayout(int spots) {
+        return getExpectedPayoutExact(spots).doubleValue();
+    }
+
+    /**
+     * Get the payout variance of a $1 bet.
+     * @param spots - number of spots picked
+     * @return variance of the payout
+     */
+    public static double getPayoutVariance(int spots) {
+        if (spots < 0 || spots > PrizeTable.MAX_SPOTS) {
+            return 0.0;
+        }
+        return PAYOUT_VARIANCES[spots];
+    }
+}
@@ -4,14 +4,20 @@ import java.util.*;
 
 /**
  * PrizeTable class manages the prize structure and odds for different spot games.
+ * Odds are derived from the prizes by OddsCalculator rather than stored here.
  */
 public class PrizeTable {
     // Prize table mapping spots to hits and their corresponding prizes
     private static final Map<Integer, Map<Integer, Integer>> PRIZE_TABLE = new HashMap<>();
-    // Odds table mapping spots to their odds
-    private static final Map<Integer, Double> ODDS_TABLE = new HashMap<>();
 
-    // A static block to initialize the prize and odds tables
+    // Highest spot count (and therefore hit count) that can carry a prize
+    public static final int MAX_SPOTS = 10;
+    // Compiled payout matrix indexed by [spots][hits], 0 where nothing is paid
+    private static final int[][] PAYOUTS = new int[MAX_SPOTS + 1][MAX_SPOTS + 1];
+    // Bit h of WIN_MASKS[spots] is set when hitting h numbers pays a prize
+    private static final int[] WIN_MASKS = new int[MAX_SPOTS + 1];
+
+    // A static block to initialize the prize tables
     // to avoid redundancy and improve performance
     static {
         Map<Integer, Integer> spot1 = new HashMap<>();
@@ -42,19 +48,24 @@ public class PrizeTable {
         spot10.put(10, 100000);
         PRIZE_TABLE.put(10, spot10);
 
-        ODDS_TABLE.put(1, 4.00);
-        ODDS_TABLE.put(4, 3.86);
-        ODDS_TABLE.put(8, 9.77);
-        ODDS_TABLE.put(10, 9.05);
+        // Compile the maps into the primitive lookup tables and freeze them
+        for (Map.Entry<Integer, Map<Integer, Integer>> spotEntry : PRIZE_TABLE.entrySet()) {
+            int spots = spotEntry.getKey();
+            for (Map.Entry<Integer, Integer> hitEntry : spotEntry.getValue().entrySet()) {
+                PAYOUTS[spots][hitEntry.getKey()] = hitEntry.getValue();
+                WIN_MASKS[spots] |= 1 << hitEntry.getKey();
+            }
+            spotEntry.setValue(Collections.unmodifiableMap(spotEntry.getValue()));
+        }
     }
 
     /**
      * Get the prize table for a specific number of spots.
      * @param spots - Number of spots
-     * @return Map of hits to prizes
+     * @return Read-only map of hits to prizes
      */
     public static Map<Integer, Integer> getPrizeTableForSpots(int spots) {
-        return PRIZE_TABLE.getOrDefault(spots, new HashMap<>());
+        return PRIZE_TABLE.getOrDefault(spots, Collections.emptyMap());
     }
 
     /**
@@ -64,10 +75,10 @@ public class PrizeTable {
      * @return true if valid, false otherwise
      */
     public static boolean isValidPrize(int spots, int hits) {
-        if (PRIZE_TABLE.containsKey(spots)) {
-            return PRIZE_TABLE.get(spots).containsKey(hits);
+        if (!inRange(spots, hits)) {
+            return false;
         }
-        return false;
+        return ((WIN_MASKS[spots] >>> hits) & 1) != 0;
     }
 
     /**
@@ -76,24 +87,68 @@ public class PrizeTable {
      * @param hits - number of hits
      * @return prize amount, or 0 if invalid combination
      */
-    public static Integer getPrizeForHits(int spots, int hits) {
-        if (PRIZE_TABLE.containsKey(spots)) {
-            if(PRIZE_TABLE.get(spots).containsKey(hits)) {
-                return PRIZE_TABLE.get(spots).get(hits);
-            }
+    public static int getPrizeForHits(int spots, int hits) {
+        if (!inRange(spots, hits)) {
+            return 0;
+        }
+        return PAYOUTS[spots][hits];
+    }
+
+    /**
+     * Get the winning hits bitmask for a specific number of spots.
+     * @param spots - number of spots
+     * @return bitmask where bit h is set when h hits pay a prize
+     */
+    public static int getWinMask(int spots) {
+        if (spots < 0 || spots > MAX_SPOTS) {
+            return 0;
+        }
+        return WIN_MASKS[spots];
+    }
+
+    /**
+     * Get a copy of the payout row for a specific number of spots.
+     * Intended for kernels that keep their own flat lookup array.
+     * @param spots - number of spots
+     * @return array of prizes indexed by hits, all zero for unknown spots
+     */
+    public static int[] getPayoutRow(int spots) {
+        if (spots < 0 || spots > MAX_SPOTS) {
+            return new int[MAX_SPOTS + 1];
+        }
+        return PAYOUTS[spots].clone();
+    }
+
+    /**
+     * Get a copy of the whole payout matrix as one flat array.
+     * Intended for settlement kernels that index by spots and hits at once.
+     * @return array of prizes indexed by spots * (MAX_SPOTS + 1) + hits
+     */
+    public static int[] getFlatPayouts() {
+        int stride = MAX_SPOTS + 1;
+        int[] flat = new int[stride * stride];
+        for (int spots = 0; spots <= MAX_SPOTS; spots++) {
+            System.arraycopy(PAYOUTS[spots], 0, flat, spots * stride, stride);
         }
-        return 0;
+        return flat;
+    }
+
+    /**
+     * Check if spots and hits fall inside the compiled payout matrix.
+     * @param spots - number of spots
+     * @param hits - number of hits
+     * @return true if both are within 0..MAX_SPOTS
+     */
+    private static boolean inRange(int spots, int hits) {
+        return (spots | hits) >= 0 && spots <= MAX_SPOTS && hits <= MAX_SPOTS;
     }
 
     /**
      * Get the odds for a specific number of spots.
      * @param spots - Number of spots
-     * @return odds value
+     * @return odds value, as in "1 in X" chance of winning any prize
      */
     public static double getOdds(int spots) {
-        if (ODDS_TABLE.containsKey(spots)) {
-            return ODDS_TABLE.get(spots);
-        }
-        return 0.0;
+        return OddsCalculator.getOverallOdds(spots);
     }
 }
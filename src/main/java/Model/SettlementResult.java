@@ -0,0 +1,78 @@
+package Model;
+
+/**
+ * SettlementResult class holds the per-ticket outcome of settling a
+ * TicketBatch against one draw, in primitive arrays indexed like the batch.
+ * A result can be reused across draws to avoid reallocating the arrays.
+ */
+public class SettlementResult {
+    private byte[] matches;
+    private int[] payouts;
+    private int size;
+
+    // Constructor
+    public SettlementResult(int capacity) {
+        this.matches = new byte[capacity];
+        this.payouts = new int[capacity];
+    }
+
+    /**
+     * Prepare the result to hold a number of tickets, growing if needed.
+     * @param size - number of tickets to be settled
+     */
+    public void reset(int size) {
+        if (matches.length < size) {
+            matches = new byte[size];
+            payouts = new int[size];
+        }
+        this.size = size;
+    }
+
+    /**
+     * Get the total payout of the settled tickets.
+     * @return sum of all payouts
+     */
+    public long getTotalPayout() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += payouts[i];
+        }
+        return total;
+    }
+
+    /**
+     * Get the number of tickets that won a prize.
+     * @return count of tickets with a payout
+     */
+    public int getWinnerCount() {
+        int winners = 0;
+        for (int i = 0; i < size; i++) {
+            if (payouts[i] != 0) {
+                winners++;
+            }
+        }
+        return winners;
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public int getMatches(int index) {
+        return matches[index];
+    }
+
+    public int getPayout(int index) {
+        return payouts[index];
+    }
+
+    // Raw column access for settlement kernels; only the first size() entries are valid
+    public byte[] matches() {
+        return matches;
+    }
+
+    public int[] payouts() {
+        return payouts;
+    }
+}
@@ -0,0 +1,163 @@
+package Model;
+
+/**
+ * SimulationResult class holds the outcome of a Monte Carlo run for one
+ * game mode and drawings combination, and derives the return-to-player
+ * statistics from the per-draw hit histogram.
+ * Every draw is a $1 bet, so a game of N drawings wagers $N.
+ */
+public class SimulationResult {
+    // z-score for a two-sided 95% confidence interval
+    private static final double Z_95 = 1.959963984540054;
+
+    private final GameMode gameMode;
+    private final GameDrawings gameDrawings;
+    private final long games;
+    private final long[] hitCounts;
+    private final long elapsedNanos;
+
+    public SimulationResult(GameMode gameMode, GameDrawings gameDrawings, long games, long[] hitCounts, long elapsedNanos) {
+        this.gameMode = gameMode;
+        this.gameDrawings = gameDrawings;
+        this.games = games;
+        this.hitCounts = hitCounts.clone();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public GameMode getGameMode() {
+        return gameMode;
+    }
+
+    public GameDrawings getGameDrawings() {
+        return gameDrawings;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Get the total number of simulated draws.
+     * @return games multiplied by drawings per game
+     */
+    public long getDraws() {
+        return games * gameDrawings.getMaxDrawings();
+    }
+
+    /**
+     * Get how many draws ended with a given number of hits.
+     * @param hits - number of hits
+     * @return count of draws, or 0 if out of range
+     */
+    public long getHitCount(int hits) {
+        if (hits < 0 || hits >= hitCounts.length) {
+            return 0;
+        }
+        return hitCounts[hits];
+    }
+
+    /**
+     * Get the observed frequency of a given number of hits per draw.
+     * @param hits - number of hits
+     * @return frequency between 0 and 1
+     */
+    public double getHitFrequency(int hits) {
+        long draws = getDraws();
+        return draws == 0 ? 0.0 : (double) getHitCount(hits) / draws;
+    }
+
+    /**
+     * Get the half width of the 95% confidence interval for a hit frequency.
+     * @param hits - number of hits
+     * @return half width of the interval
+     */
+    public double getHitFrequencyMargin(int hits) {
+        long draws = getDraws();
+        if (draws == 0) {
+            return 0.0;
+        }
+        double p = getHitFrequency(hits);
+        return Z_95 * Math.sqrt(p * (1.0 - p) / draws);
+    }
+
+    /**
+     * Get the total amount paid out over all draws.
+     * @return total payout in dollars
+     */
+    public long getTotalPaid() {
+        int spots = gameMode.getMaxSpots();
+        long paid = 0;
+        for (int hits = 0; hits < hitCounts.length; hits++) {
+            paid += hitCounts[hits] * PrizeTable.getPrizeForHits(spots, hits);
+        }
+        return paid;
+    }
+
+    /**
+     * Get the return to player, the payout per dollar wagered.
+     * @return return to player as a fraction
+     */
+    public double getRtp() {
+        long draws = getDraws();
+        return draws == 0 ? 0.0 : (double) getTotalPaid() / draws;
+    }
+
+    /**
+     * Get the payout variance of a single $1 draw.
+     * Computed from the histogram, so it cannot overflow however many draws ran.
+     * @return variance per draw
+     */
+    public double getDrawVariance() {
+        long draws = getDraws();
+        if (draws == 0) {
+            return 0.0;
+        }
+        int spots = gameMode.getMaxSpots();
+        double mean = getRtp();
+        double secondMoment = 0.0;
+        for (int hits = 0; hits < hitCounts.length; hits++) {
+            double prize = PrizeTable.getPrizeForHits(spots, hits);
+            secondMoment += prize * prize * hitCounts[hits];
+        }
+        return secondMoment / draws - mean * mean;
+    }
+
+    /**
+     * Get the payout variance of a whole game; draws are independent,
+     * so it scales with the number of drawings.
+     * @return variance per game
+     */
+    public double getGameVariance() {
+        return getDrawVariance() * gameDrawings.getMaxDrawings();
+    }
+
+    /**
+     * Get the half width of the 95% confidence interval for the RTP.
+     * @return half width of the interval
+     */
+    public double getRtpMargin() {
+        long draws = getDraws();
+        return draws == 0 ? 0.0 : Z_95 * Math.sqrt(getDrawVariance() / draws);
+    }
+
+    /**
+     * Generate a textual report of the simulation.
+     * @return formatted report
+     */
+    public String toReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%s, %s: %,d games (%,d draws) in %.2f s\n",
+                gameMode.getDisplayName(), gameDrawings.getDisplayName(), games, getDraws(), elapsedNanos / 1e9));
+        sb.append(String.format("  RTP %.6f +/- %.6f (95%%), exact %.6f, variance/draw %.4f, variance/game %.4f\n",
+                getRtp(), getRtpMargin(), OddsCalculator.getExpectedPayout(gameMode.getMaxSpots()), getDrawVariance(), getGameVariance()));
+        for (int hits = 0; hits < hitCounts.length; hits++) {
+            sb.append(String.format("  %2d hits: %.8f +/- %.8f, exact %.8f\n", hits, getHitFrequency(hits), getHitFrequencyMargin(hits),
+                    OddsCalculator.getHitProbability(gameMode.getMaxSpots(), hits)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package Model;
+
+import java.util.List;
+
+/**
+ * TableDrawResult class is an immutable summary of one shared table draw:
+ * the drawn numbers, the totals over every ticket settled against them, and
+ * how many tickets were still in play as the numbers were revealed.
+ */
+public final class TableDrawResult {
+    private final long drawNumber;
+    private final long seed;
+    private final long drawLow;
+    private final long drawHigh;
+    private final int ticketCount;
+    private final int winnerCount;
+    private final long totalPayout;
+    // liveCounts[k] is the number of tickets in play after k numbers were revealed
+    private final int[] liveCounts;
+
+    // Constructor
+    public TableDrawResult(long drawNumber, long seed, long drawLow, long drawHigh, int ticketCount, int winnerCount, long totalPayout, int[] liveCounts) {
+        this.drawNumber = drawNumber;
+        this.seed = seed;
+        this.drawLow = drawLow;
+        this.drawHigh = drawHigh;
+        this.ticketCount = ticketCount;
+        this.winnerCount = winnerCount;
+        this.totalPayout = totalPayout;
+        this.liveCounts = liveCounts.clone();
+    }
+
+    /**
+     * Get the drawn numbers in ascending order.
+     * @return list of the 20 drawn numbers
+     */
+    public List<Integer> getDrawnNumbers() {
+        return NumberMask.toList(drawLow, drawHigh);
+    }
+
+    // Getters
+    public long getDrawNumber() {
+        return drawNumber;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getDrawLow() {
+        return drawLow;
+    }
+
+    public long getDrawHigh() {
+        return drawHigh;
+    }
+
+    public int getTicketCount() {
+        return ticketCount;
+    }
+
+    public int getWinnerCount() {
+        return winnerCount;
+    }
+
+    public long getTotalPayout() {
+        return totalPayout;
+    }
+
+    /**
+     * Get the number of tickets still able to win after each reveal, in
+     * ascending order of the drawn numbers.
+     * @return live counts, the first before any number and the last after all of them
+     */
+    public int[] getLiveCounts() {
+        return liveCounts.clone();
+    }
+
+    /**
+     * Get the number of tickets still able to win after some reveals.
+     * @param revealed - numbers revealed, 0 to 20
+     * @return tickets in play at that point
+     */
+    public int getLiveCount(int revealed) {
+        return liveCounts[revealed];
+    }
+}
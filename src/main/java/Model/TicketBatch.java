@@ -0,0 +1,109 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * TicketBatch class stores many tickets in columnar form: one array for the
+ * low mask words, one for the high mask words and one for the spot counts.
+ * Tickets are addressed by index, so settling a batch touches three flat
+ * arrays and never allocates per ticket.
+ */
+public class TicketBatch {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private long[] lowMasks;
+    private long[] highMasks;
+    private byte[] spots;
+    private int size;
+
+    // Constructor with default capacity
+    public TicketBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // Constructor with an initial capacity
+    public TicketBatch(int capacity) {
+        capacity = Math.max(capacity, 1);
+        this.lowMasks = new long[capacity];
+        this.highMasks = new long[capacity];
+        this.spots = new byte[capacity];
+    }
+
+    /**
+     * Add a ticket given as a packed mask.
+     * @param lowMask - low word of the picked numbers
+     * @param highMask - high word of the picked numbers
+     * @return index of the new ticket
+     * @throws IllegalArgumentException if the ticket has no picks or more than PrizeTable.MAX_SPOTS
+     */
+    public int add(long lowMask, long highMask) {
+        int count = NumberMask.size(lowMask, highMask);
+        if (count == 0 || count > PrizeTable.MAX_SPOTS || !NumberMask.isValidHighWord(highMask)) {
+            throw new IllegalArgumentException("Invalid ticket mask with " + count + " picks");
+        }
+        if (size == lowMasks.length) {
+            grow();
+        }
+        lowMasks[size] = lowMask;
+        highMasks[size] = highMask;
+        spots[size] = (byte) count;
+        return size++;
+    }
+
+    /**
+     * Add a ticket given as a list of numbers.
+     * @param numbers - picked numbers between 1 and 80
+     * @return index of the new ticket
+     */
+    public int add(List<Integer> numbers) {
+        return add(NumberMask.lowWord(numbers), NumberMask.highWord(numbers));
+    }
+
+    /**
+     * Remove all tickets, keeping the allocated arrays.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Double the capacity of the column arrays.
+     */
+    private void grow() {
+        int capacity = lowMasks.length * 2;
+        lowMasks = Arrays.copyOf(lowMasks, capacity);
+        highMasks = Arrays.copyOf(highMasks, capacity);
+        spots = Arrays.copyOf(spots, capacity);
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public long getLowMask(int index) {
+        return lowMasks[index];
+    }
+
+    public long getHighMask(int index) {
+        return highMasks[index];
+    }
+
+    public int getSpots(int index) {
+        return spots[index];
+    }
+
+    // Raw column access for settlement kernels; only the first size() entries are valid
+    public long[] lowMasks() {
+        return lowMasks;
+    }
+
+    public long[] highMasks() {
+        return highMasks;
+    }
+
+    public byte[] spots() {
+        return spots;
+    }
+}
@@ -0,0 +1,209 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * TicketBitmap class is a compressed set of ticket ids in the style of a
+ * roaring bitmap. Ids are split into blocks of 65536 by their high bits;
+ * each block present in the set has one container holding the low 16 bits,
+ * either as a sorted char array while it has at most ARRAY_LIMIT ids, or as
+ * a 65536-bit bitmap once it is denser than that.
+ * Ids must be added in increasing order, which is how tickets are numbered.
+ */
+public class TicketBitmap {
+    public static final int BLOCK_BITS = 16;
+    // Words of a bitmap container
+    public static final int BLOCK_WORDS = (1 << BLOCK_BITS) / Long.SIZE;
+    // Most ids an array container holds before it turns into a bitmap
+    public static final int ARRAY_LIMIT = 4096;
+    private static final int INITIAL_ARRAY = 16;
+    // Most ids of an array container counted one by one, see addTo
+    private static final int SCATTER_LIMIT = 256;
+
+    // Block of each container, ascending
+    private char[] keys = new char[4];
+    // Per container, the sorted low bits while sparse, else null
+    private char[][] arrays = new char[4][];
+    // Per container, the bitmap once dense, else null
+    private long[][] bitmaps = new long[4][];
+    private int[] cardinalities = new int[4];
+    private int containerCount;
+    private long cardinality;
+    private int last = -1;
+
+    /**
+     * Add a ticket id, which must be above every id added before.
+     * @param id - ticket id, 0 or more
+     * @throws IllegalArgumentException if the id is out of order
+     */
+    public void add(int id) {
+        if (id <= last) {
+            throw new IllegalArgumentException("Ticket ids must be added in increasing order: " + id);
+        }
+        last = id;
+        char key = (char) (id >>> BLOCK_BITS);
+        char low = (char) id;
+        int c = containerCount - 1;
+        if (c < 0 || keys[c] != key) {
+            c = addContainer(key);
+        }
+        int count = cardinalities[c];
+        if (bitmaps[c] != null) {
+            bitmaps[c][low >>> 6] |= 1L << low;
+        } else if (count < ARRAY_LIMIT) {
+            char[] array = arrays[c];
+            if (count == array.length) {
+                array = arrays[c] = Arrays.copyOf(array, Math.min(array.length * 2, ARRAY_LIMIT));
+            }
+            array[count] = low;
+        } else {
+            long[] bitmap = new long[BLOCK_WORDS];
+            for (char value : arrays[c]) {
+                bitmap[value >>> 6] |= 1L << value;
+            }
+            bitmap[low >>> 6] |= 1L << low;
+            bitmaps[c] = bitmap;
+            arrays[c] = null;
+        }
+        cardinalities[c] = count + 1;
+        cardinality++;
+    }
+
+    /**
+     * Append an empty array container for a block.
+     * @return position of the container
+     */
+    private int addContainer(char key) {
+        if (containerCount == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            arrays = Arrays.copyOf(arrays, capacity);
+            bitmaps = Arrays.copyOf(bitmaps, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        keys[containerCount] = key;
+        arrays[containerCount] = new char[INITIAL_ARRAY];
+        return containerCount++;
+    }
+
+    /**
+     * Check if a ticket id is in the set.
+     * @param id - ticket id
+     * @return True if the id was added, false otherwise.
+     */
+    public boolean contains(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int c = find((char) (id >>> BLOCK_BITS));
+        if (c < 0) {
+            return false;
+        }
+        char low = (char) id;
+        if (bitmaps[c] != null) {
+            return (bitmaps[c][low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch(arrays[c], 0, cardinalities[c], low) >= 0;
+    }
+
+    /**
+     * Find the container of a block.
+     * @param key - the block
+     * @return position of the container, or -1 if the block is empty
+     */
+    int find(char key) {
+        int c = Arrays.binarySearch(keys, 0, containerCount, key);
+        return c >= 0 ? c : -1;
+    }
+
+    /**
+     * Add one to the bit-sliced counter of every id in a container. Bit k of
+     * a count lives in plane k, at the bit of the id's low 16 bits; the adds
+     * are branch-free, so counts must stay below 16.
+     * An array container with more than SCATTER_LIMIT ids is first scattered
+     * into the scratch bitmap and added a word at a time, which is faster
+     * than chaining four read-modify-writes per id through the planes.
+     * @param c - position of the container
+     * @param p0 - counter plane of bit 0, BLOCK_WORDS words
+     * @param p1 - counter plane of bit 1
+     * @param p2 - counter plane of bit 2
+     * @param p3 - counter plane of bit 3
+     * @param scratch - BLOCK_WORDS words of zeros, left zeroed
+     */
+    void addTo(int c, long[] p0, long[] p1, long[] p2, long[] p3, long[] scratch) {
+        char[] array = arrays[c];
+        int count = cardinalities[c];
+        if (array != null && count <= SCATTER_LIMIT) {
+            for (int i = 0; i < count; i++) {
+                int w = array[i] >>> 6;
+                long carry = 1L << array[i];
+                long plane = p0[w];
+                p0[w] = plane ^ carry;
+                carry &= plane;
+                plane = p1[w];
+                p1[w] = plane ^ carry;
+                carry &= plane;
+                plane = p2[w];
+                p2[w] = plane ^ carry;
+                p3[w] ^= carry & plane;
+            }
+            return;
+        }
+        long[] bitmap = bitmaps[c];
+        if (bitmap == null) {
+            for (int i = 0; i < count; i++) {
+                scratch[array[i] >>> 6] |= 1L << array[i];
+            }
+            bitmap = scratch;
+        }
+        for (int w = 0; w < BLOCK_WORDS; w++) {
+            long carry = bitmap[w];
+            long plane = p0[w];
+            p0[w] = plane ^ carry;
+            carry &= plane;
+            plane = p1[w];
+            p1[w] = plane ^ carry;
+            carry &= plane;
+            plane = p2[w];
+            p2[w] = plane ^ carry;
+            p3[w] ^= carry & plane;
+        }
+        if (bitmap == scratch) {
+            Arrays.fill(scratch, 0L);
+        }
+    }
+
+    // Getters
+    public long getCardinality() {
+        return cardinality;
+    }
+
+    public int getContainerCount() {
+        return containerCount;
+    }
+
+    char getKey(int c) {
+        return keys[c];
+    }
+
+    /**
+     * Check if a container has turned into a bitmap.
+     * @param c - position of the container
+     * @return True if the container is a bitmap, false if it is an array.
+     */
+    public boolean isBitmap(int c) {
+        return bitmaps[c] != null;
+    }
+
+    /**
+     * Get the bytes held by the containers, as a measure of compression.
+     * @return bytes of container storage
+     */
+    public long getSizeInBytes() {
+        long bytes = 0;
+        for (int c = 0; c < containerCount; c++) {
+            bytes += bitmaps[c] != null ? (long) BLOCK_WORDS * Long.BYTES : (long) arrays[c].length * Character.BYTES;
+        }
+        return bytes;
+    }
+}
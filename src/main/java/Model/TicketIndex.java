@@ -0,0 +1,216 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * TicketIndex class is an inverted index from each of the 80 numbers to a
+ * TicketBitmap of the tickets that picked it, for settling a large ticket
+ * population against one draw without scanning every ticket.
+ *
+ * Settlement goes one block of 65536 tickets at a time. Only the postings
+ * of the 20 drawn numbers are walked; each adds one to a bit-sliced hit
+ * counter, four planes of one bit per ticket. Tickets are also kept in one
+ * bitmap per spot count, so the tickets on a paying tier are found 64 at a
+ * time by comparing the planes with the PrizeTable win mask, and only those
+ * are materialized. A block costs the same whether tickets win or not.
+ */
+public class TicketIndex {
+    // Planes of the hit counter, enough to count up to MAX_SPOTS
+    private static final int PLANES = 4;
+    private static final int[] WIN_MASKS = new int[PrizeTable.MAX_SPOTS + 1];
+    private static final int[][] PAYOUTS = new int[PrizeTable.MAX_SPOTS + 1][];
+    // Spot counts with at least one paying tier
+    private static final int[] PAYING_SPOTS;
+
+    static {
+        int paying = 0;
+        for (int spots = 0; spots <= PrizeTable.MAX_SPOTS; spots++) {
+            WIN_MASKS[spots] = PrizeTable.getWinMask(spots);
+            PAYOUTS[spots] = PrizeTable.getPayoutRow(spots);
+            if (WIN_MASKS[spots] != 0) {
+                paying++;
+            }
+        }
+        PAYING_SPOTS = new int[paying];
+        for (int spots = PrizeTable.MAX_SPOTS; spots >= 0; spots--) {
+            if (WIN_MASKS[spots] != 0) {
+                PAYING_SPOTS[--paying] = spots;
+            }
+        }
+    }
+
+    private final TicketBitmap[] postings = new TicketBitmap[NumberMask.MAX_NUMBER + 1];
+    // spotBitmaps[block][spots] marks the tickets of the block with that spot count
+    private long[][][] spotBitmaps = new long[1][][];
+    private int size;
+    // Settlement scratch, reused across draws
+    private final long[][] planes = new long[PLANES][TicketBitmap.BLOCK_WORDS];
+    private final long[] scratch = new long[TicketBitmap.BLOCK_WORDS];
+    // hitWords[h] marks the tickets of the current word with h hits
+    private final long[] hitWords = new long[PrizeTable.MAX_SPOTS + 1];
+    private final int[] drawnNumbers = new int[NumberMask.MAX_NUMBER];
+    private final int[] cursors = new int[NumberMask.MAX_NUMBER];
+
+    // Constructor
+    public TicketIndex() {
+        for (int number = 1; number <= NumberMask.MAX_NUMBER; number++) {
+            postings[number] = new TicketBitmap();
+        }
+    }
+
+    /**
+     * Build an index holding every ticket of a batch, with the same ids.
+     * @param tickets - the tickets to index
+     * @return the index
+     */
+    public static TicketIndex of(TicketBatch tickets) {
+        TicketIndex index = new TicketIndex();
+        for (int i = 0; i < tickets.size(); i++) {
+            index.add(tickets.getLowMask(i), tickets.getHighMask(i));
+        }
+        return index;
+    }
+
+    /**
+     * Add a ticket given as a packed mask.
+     * @param lowMask - low word of the picked numbers
+     * @param highMask - high word of the picked numbers
+     * @return id of the new ticket
+     * @throws IllegalArgumentException if the ticket has no picks or more than PrizeTable.MAX_SPOTS
+     */
+    public int add(long lowMask, long highMask) {
+        int count = NumberMask.size(lowMask, highMask);
+        if (count == 0 || count > PrizeTable.MAX_SPOTS || !NumberMask.isValidHighWord(highMask)) {
+            throw new IllegalArgumentException("Invalid ticket mask with " + count + " picks");
+        }
+        int id = size;
+        int block = id >>> TicketBitmap.BLOCK_BITS;
+        if (block == spotBitmaps.length) {
+            spotBitmaps = Arrays.copyOf(spotBitmaps, block * 2);
+        }
+        if (spotBitmaps[block] == null) {
+            spotBitmaps[block] = new long[PrizeTable.MAX_SPOTS + 1][];
+        }
+        long[][] blockSpots = spotBitmaps[block];
+        if (blockSpots[count] == null) {
+            blockSpots[count] = new long[TicketBitmap.BLOCK_WORDS];
+        }
+        blockSpots[count][(char) id >>> 6] |= 1L << id;
+        for (long low = lowMask; low != 0; low &= low - 1) {
+            postings[Long.numberOfTrailingZeros(low) + 1].add(id);
+        }
+        for (long high = highMask; high != 0; high &= high - 1) {
+            postings[Long.numberOfTrailingZeros(high) + 1 + NumberMask.LOW_WORD_BITS].add(id);
+        }
+        return size++;
+    }
+
+    /**
+     * Add a ticket given as a list of numbers.
+     * @param numbers - picked numbers between 1 and 80
+     * @return id of the new ticket
+     */
+    public int add(List<Integer> numbers) {
+        return add(NumberMask.lowWord(numbers), NumberMask.highWord(numbers));
+    }
+
+    /**
+     * Settle every ticket against one draw, keeping only the winners.
+     * @param drawLow - low word of the drawn numbers
+     * @param drawHigh - high word of the drawn numbers
+     * @param winners - cleared, then filled with the winners in ticket id order by word of 64
+     */
+    public void settle(long drawLow, long drawHigh, WinningTickets winners) {
+        winners.clear();
+        int drawn = 0;
+        for (long low = drawLow; low != 0; low &= low - 1) {
+            drawnNumbers[drawn++] = Long.numberOfTrailingZeros(low) + 1;
+        }
+        for (long high = drawHigh & NumberMask.HIGH_WORD_MASK; high != 0; high &= high - 1) {
+            drawnNumbers[drawn++] = Long.numberOfTrailingZeros(high) + 1 + NumberMask.LOW_WORD_BITS;
+        }
+        Arrays.fill(cursors, 0, drawn, 0);
+        int blocks = (size + (1 << TicketBitmap.BLOCK_BITS) - 1) >>> TicketBitmap.BLOCK_BITS;
+        for (int block = 0; block < blocks; block++) {
+            for (long[] plane : planes) {
+                Arrays.fill(plane, 0L);
+            }
+            for (int i = 0; i < drawn; i++) {
+                TicketBitmap posting = postings[drawnNumbers[i]];
+                int c = cursors[i];
+                if (c < posting.getContainerCount() && posting.getKey(c) == block) {
+                    posting.addTo(c, planes[0], planes[1], planes[2], planes[3], scratch);
+                    cursors[i] = c + 1;
+                }
+            }
+            collectWinners(block, winners);
+        }
+    }
+
+    /**
+     * Materialize the tickets of a block whose hit count is on a paying tier.
+     * Word by word, the planes are decoded once into one mask per hit count,
+     * which every paying spot count then shares.
+     */
+    private void collectWinners(int block, WinningTickets winners) {
+        long[][] blockSpots = spotBitmaps[block];
+        long[] p0 = planes[0];
+        long[] p1 = planes[1];
+        long[] p2 = planes[2];
+        long[] p3 = planes[3];
+        long[] hitWords = this.hitWords;
+        int base = block << TicketBitmap.BLOCK_BITS;
+        for (int w = 0; w < TicketBitmap.BLOCK_WORDS; w++) {
+            long low0 = ~p0[w] & ~p1[w];
+            long low1 = p0[w] & ~p1[w];
+            long low2 = ~p0[w] & p1[w];
+            long low3 = p0[w] & p1[w];
+            long high0 = ~p2[w] & ~p3[w];
+            long high1 = p2[w] & ~p3[w];
+            long high2 = ~p2[w] & p3[w];
+            hitWords[0] = low0 & high0;
+            hitWords[1] = low1 & high0;
+            hitWords[2] = low2 & high0;
+            hitWords[3] = low3 & high0;
+            hitWords[4] = low0 & high1;
+            hitWords[5] = low1 & high1;
+            hitWords[6] = low2 & high1;
+            hitWords[7] = low3 & high1;
+            hitWords[8] = low0 & high2;
+            hitWords[9] = low1 & high2;
+            hitWords[10] = low2 & high2;
+            for (int spots : PAYING_SPOTS) {
+                long[] members = blockSpots[spots];
+                long candidates = members == null ? 0L : members[w];
+                if (candidates == 0) {
+                    continue;
+                }
+                int[] payouts = PAYOUTS[spots];
+                for (int tiers = WIN_MASKS[spots]; tiers != 0; tiers &= tiers - 1) {
+                    int hits = Integer.numberOfTrailingZeros(tiers);
+                    for (long win = candidates & hitWords[hits]; win != 0; win &= win - 1) {
+                        winners.add(base + (w << 6) + Long.numberOfTrailingZeros(win), hits, payouts[hits]);
+                    }
+                }
+            }
+        }
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the tickets that picked a number.
+     * @param number - number between 1 and 80
+     * @return the posting bitmap of the number
+     */
+    public TicketBitmap getPosting(int number) {
+        if (number < 1 || number > NumberMask.MAX_NUMBER) {
+            throw new IllegalArgumentException("Invalid number: " + number);
+        }
+        return postings[number];
+    }
+}
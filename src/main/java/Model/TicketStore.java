@@ -0,0 +1,283 @@
+package Model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * TicketStore class holds pending tickets off the Java heap, in chunks of
+ * direct memory that are allocated as the store grows and reused after
+ * clear(). Tens of millions of tickets add only a few objects per chunk to
+ * the heap, so holding them puts no pressure on the garbage collector.
+ *
+ * Every ticket is a fixed 16-byte little-endian record:
+ * <pre>
+ *   0   long   low word of the picked numbers
+ *   8   short  high word of the picked numbers
+ *   10  byte   spot count
+ *   11  byte   draw count, unsigned
+ *   12  int    stake
+ * </pre>
+ * Appending is lock-free and may be done by any number of threads: a writer
+ * reserves an index with one atomic increment, writes the low word, and then
+ * publishes the second word of the record with release semantics. A record
+ * whose spot count still reads 0 is being written, and scans skip it.
+ *
+ * The store is a standalone component for ticket feeds written by many
+ * threads at once, with stakes and multi-draw tickets. KenoTable does not
+ * use it: its shards append under their own locks, reuse their TicketBatch
+ * columns across draws without garbage, and settle them with the
+ * SettlementKernel, which reads TicketBatch arrays.
+ */
+public class TicketStore {
+    /**
+     * Receives tickets from a scan.
+     */
+    public interface TicketVisitor {
+        /**
+         * Called for each published ticket in index order.
+         * @param index - index of the ticket
+         * @param lowMask - low word of the picked numbers
+         * @param highMask - high word of the picked numbers
+         * @param spots - number of picked numbers
+         * @param draws - number of draws the ticket plays
+         * @param stake - stake of the ticket
+         */
+        void visit(long index, long lowMask, long highMask, int spots, int draws, int stake);
+    }
+
+    public static final int RECORD_BYTES = 16;
+    // Records per chunk unless given, 16 MB of direct memory
+    public static final int DEFAULT_CHUNK_RECORDS = 1 << 20;
+    private static final int MAX_CHUNKS = 1 << 12;
+    private static final int MAX_DRAWS = 0xFF;
+    // Offset of the published word inside a record
+    private static final int HEADER_OFFSET = Long.BYTES;
+    private static final VarHandle HEADERS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final int STRIDE = PrizeTable.MAX_SPOTS + 1;
+    private static final int[] PAYOUTS = PrizeTable.getFlatPayouts();
+
+    private final int chunkBits;
+    private final int chunkMask;
+    private final long capacity;
+    private final AtomicReferenceArray<ByteBuffer> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    // Next index to reserve; may run past capacity when the store is full
+    private final AtomicLong reserved = new AtomicLong();
+
+    // Constructor with the default chunk size
+    public TicketStore() {
+        this(DEFAULT_CHUNK_RECORDS);
+    }
+
+    // Constructor with the records per chunk, rounded up to a power of two
+    public TicketStore(int chunkRecords) {
+        if (chunkRecords < 1 || chunkRecords > (Integer.MAX_VALUE / RECORD_BYTES)) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkRecords);
+        }
+        int size = Integer.highestOneBit(chunkRecords);
+        if (size < chunkRecords) {
+            size <<= 1;
+        }
+        this.chunkBits = Integer.numberOfTrailingZeros(size);
+        this.chunkMask = size - 1;
+        this.capacity = (long) MAX_CHUNKS << chunkBits;
+    }
+
+    /**
+     * Append a ticket given as a packed mask. Safe to call from any thread.
+     * @param lowMask - low word of the picked numbers
+     * @param highMask - high word of the picked numbers
+     * @param draws - number of draws the ticket plays, 1 to 255
+     * @param stake - stake of the ticket, above 0
+     * @return index of the new ticket
+     * @throws IllegalArgumentException if the ticket is invalid
+     * @throws IllegalStateException if the store is full
+     */
+    public long append(long lowMask, long highMask, int draws, int stake) {
+        int count = NumberMask.size(lowMask, highMask);
+        if (count == 0 || count > PrizeTable.MAX_SPOTS || !NumberMask.isValidHighWord(highMask)) {
+            throw new IllegalArgumentException("Invalid ticket mask with " + count + " picks");
+        }
+        if (draws < 1 || draws > MAX_DRAWS || stake < 1) {
+            throw new IllegalArgumentException("Invalid ticket with " + draws + " draws and stake " + stake);
+        }
+        long index = reserved.getAndIncrement();
+        if (index >= capacity) {
+            throw new IllegalStateException("Ticket store is full");
+        }
+        ByteBuffer chunk = chunkFor(index);
+        int offset = ((int) index & chunkMask) * RECORD_BYTES;
+        chunk.putLong(offset, lowMask);
+        long header = highMask | ((long) count << 16) | ((long) draws << 24) | ((long) stake << 32);
+        // Release the low word before the header that marks the record published
+        HEADERS.setRelease(chunk, offset + HEADER_OFFSET, header);
+        return index;
+    }
+
+    /**
+     * Append a ticket given as a list of numbers.
+     * @param numbers - picked numbers between 1 and 80
+     * @param draws - number of draws the ticket plays
+     * @param stake - stake of the ticket
+     * @return index of the new ticket
+     */
+    public long append(List<Integer> numbers, int draws, int stake) {
+        return append(NumberMask.lowWord(numbers), NumberMask.highWord(numbers), draws, stake);
+    }
+
+    /**
+     * Get the chunk holding an index, allocating it on first use. Writers
+     * racing for a new chunk each allocate one and the loser's is dropped.
+     * @param index - a reserved index
+     * @return the chunk
+     */
+    private ByteBuffer chunkFor(long index) {
+        int slot = (int) (index >>> chunkBits);
+        ByteBuffer chunk = chunks.get(slot);
+        if (chunk == null) {
+            ByteBuffer fresh = ByteBuffer.allocateDirect((chunkMask + 1) * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            chunk = chunks.compareAndSet(slot, null, fresh) ? fresh : chunks.get(slot);
+        }
+        return chunk;
+    }
+
+    /**
+     * Visit every published ticket sequentially, chunk by chunk. Tickets
+     * still being appended when the scan reaches them are skipped.
+     * @param visitor - receives the tickets
+     * @return number of tickets visited
+     */
+    public long scan(TicketVisitor visitor) {
+        long end = size();
+        long visited = 0;
+        for (long base = 0; base < end; base += chunkMask + 1) {
+            ByteBuffer chunk = chunks.get((int) (base >>> chunkBits));
+            if (chunk == null) {
+                // Its first writer is still allocating it, so nothing in it is published
+                continue;
+            }
+            int records = (int) Math.min(end - base, chunkMask + 1);
+            for (int i = 0, offset = 0; i < records; i++, offset += RECORD_BYTES) {
+                long header = (long) HEADERS.getAcquire(chunk, offset + HEADER_OFFSET);
+                int spots = (int) (header >>> 16) & 0xFF;
+                if (spots == 0) {
+                    continue;
+                }
+                visitor.visit(base + i, chunk.getLong(offset), header & NumberMask.HIGH_WORD_MASK, spots,
+                        (int) (header >>> 24) & 0xFF, (int) (header >>> 32));
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Settle every published ticket against one draw.
+     * @param drawLow - low word of the drawn numbers
+     * @param drawHigh - high word of the drawn numbers
+     * @return sum of prize times stake over all tickets
+     */
+    public long getTotalPayout(long drawLow, long drawHigh) {
+        long end = size();
+        long total = 0;
+        for (long base = 0; base < end; base += chunkMask + 1) {
+            ByteBuffer chunk = chunks.get((int) (base >>> chunkBits));
+            if (chunk == null) {
+                // Its first writer is still allocating it, so nothing in it is published
+                continue;
+            }
+            int records = (int) Math.min(end - base, chunkMask + 1);
+            for (int i = 0, offset = 0; i < records; i++, offset += RECORD_BYTES) {
+                long header = (long) HEADERS.getAcquire(chunk, offset + HEADER_OFFSET);
+                int hits = Long.bitCount(chunk.getLong(offset) & drawLow) + Long.bitCount(header & drawHigh & NumberMask.HIGH_WORD_MASK);
+                // An unpublished record has 0 spots, and row 0 pays nothing
+                total += (long) PAYOUTS[((int) (header >>> 16) & 0xFF) * STRIDE + hits] * (int) (header >>> 32);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Remove all tickets, keeping the allocated chunks for reuse.
+     * Must not run while tickets are being appended.
+     */
+    public void clear() {
+        long end = size();
+        for (long base = 0; base < end; base += chunkMask + 1) {
+            ByteBuffer chunk = chunks.get((int) (base >>> chunkBits));
+            if (chunk == null) {
+                // Its first writer is still allocating it, so nothing in it is published
+                continue;
+            }
+            int records = (int) Math.min(end - base, chunkMask + 1);
+            for (int offset = 0; offset < records * RECORD_BYTES; offset += RECORD_BYTES) {
+                chunk.putLong(offset + HEADER_OFFSET, 0L);
+            }
+        }
+        reserved.set(0);
+    }
+
+    /**
+     * Get the number of reserved tickets, including any still being appended.
+     * @return number of tickets
+     */
+    public long size() {
+        return Math.min(reserved.get(), capacity);
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the direct memory held by the allocated chunks.
+     * @return bytes of direct memory
+     */
+    public long getOffHeapBytes() {
+        long bytes = 0;
+        for (int i = 0; i < MAX_CHUNKS && chunks.get(i) != null; i++) {
+            bytes += chunks.get(i).capacity();
+        }
+        return bytes;
+    }
+
+    // Getters for one published ticket
+    public long getLowMask(long index) {
+        return record(index).getLong(offset(index));
+    }
+
+    public long getHighMask(long index) {
+        return header(index) & NumberMask.HIGH_WORD_MASK;
+    }
+
+    public int getSpots(long index) {
+        return (int) (header(index) >>> 16) & 0xFF;
+    }
+
+    public int getDraws(long index) {
+        return (int) (header(index) >>> 24) & 0xFF;
+    }
+
+    public int getStake(long index) {
+        return (int) (header(index) >>> 32);
+    }
+
+    private long header(long index) {
+        return (long) HEADERS.getAcquire(record(index), offset(index) + HEADER_OFFSET);
+    }
+
+    private ByteBuffer record(long index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Ticket index out of range: " + index);
+        }
+        return chunks.get((int) (index >>> chunkBits));
+    }
+
+    private int offset(long index) {
+        return ((int) index & chunkMask) * RECORD_BYTES;
+    }
+}
@@ -0,0 +1,67 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * WinningTickets class holds only the tickets of a batch that won a prize
+ * in one draw, as primitive columns of ticket id, matches and payout.
+ * It can be reused across draws to avoid reallocating the arrays.
+ */
+public class WinningTickets {
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] ticketIds = new int[DEFAULT_CAPACITY];
+    private byte[] matches = new byte[DEFAULT_CAPACITY];
+    private int[] payouts = new int[DEFAULT_CAPACITY];
+    private int size;
+    private long totalPayout;
+
+    /**
+     * Record a winning ticket.
+     * @param ticketId - id of the ticket
+     * @param hits - numbers the ticket matched
+     * @param payout - prize of the ticket
+     */
+    public void add(int ticketId, int hits, int payout) {
+        if (size == ticketIds.length) {
+            int capacity = size * 2;
+            ticketIds = Arrays.copyOf(ticketIds, capacity);
+            matches = Arrays.copyOf(matches, capacity);
+            payouts = Arrays.copyOf(payouts, capacity);
+        }
+        ticketIds[size] = ticketId;
+        matches[size] = (byte) hits;
+        payouts[size] = payout;
+        totalPayout += payout;
+        size++;
+    }
+
+    /**
+     * Remove all winners, keeping the allocated arrays.
+     */
+    public void clear() {
+        size = 0;
+        totalPayout = 0;
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public long getTotalPayout() {
+        return totalPayout;
+    }
+
+    public int getTicketId(int index) {
+        return ticketIds[index];
+    }
+
+    public int getMatches(int index) {
+        return matches[index];
+    }
+
+    public int getPayout(int index) {
+        return payouts[index];
+    }
+}
@@ -0,0 +1,374 @@
+package Server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * DrawBroadcaster is a minimal push-only WebSocket endpoint on localhost.
+ * One selector thread accepts clients, answers the upgrade handshake and
+ * writes every broadcast text frame with non-blocking writes. A client that
+ * falls too far behind is disconnected instead of slowing down the others.
+ */
+public class DrawBroadcaster {
+    // Fixed GUID appended to the client key by the WebSocket handshake
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    // Frames a client may have queued before it is dropped as too slow
+    private static final int MAX_QUEUED_FRAMES = 256;
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final byte[] HEADER_END = {'\r', '\n', '\r', '\n'};
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<byte[]> outbox = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private volatile boolean running;
+    private volatile int clientCount;
+
+    // Constructor, port 0 picks a free port
+    public DrawBroadcaster(int port) throws IOException {
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.thread = new Thread(this::loop, "draw-broadcaster");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stop the selector thread and close every connection.
+     */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Get the number of clients that completed the handshake.
+     * @return connected client count
+     */
+    public int getClientCount() {
+        return clientCount;
+    }
+
+    /**
+     * Send a text message to every connected client. Safe to call from any thread.
+     * @param text - the message
+     */
+    public void broadcast(String text) {
+        outbox.add(encodeFrame(text));
+        selector.wakeup();
+    }
+
+    /**
+     * Selector loop: deliver queued broadcasts, then serve ready channels.
+     */
+    private void loop() {
+        try {
+            while (running) {
+                selector.select();
+                deliverOutbox();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+                        if (key.isReadable()) {
+                            read(key);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(key);
+                        }
+                    } catch (IOException e) {
+                        close(key);
+                    } catch (RuntimeException e) {
+                        // A bad client must not take the selector thread and the other clients with it
+                        System.err.println("Error serving client: " + e);
+                        close(key);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error in draw broadcaster: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                System.err.println("Error closing draw broadcaster: " + e.getMessage());
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new Connection());
+    }
+
+    /**
+     * Queue every pending broadcast on every upgraded connection.
+     */
+    private void deliverOutbox() {
+        byte[] frame;
+        while ((frame = outbox.poll()) != null) {
+            for (SelectionKey key : selector.keys()) {
+                Connection connection = (Connection) key.attachment();
+                if (connection == null || !connection.upgraded || !key.isValid()) {
+                    continue;
+                }
+                if (connection.out.size() >= MAX_QUEUED_FRAMES) {
+                    close(key);
+                    continue;
+                }
+                connection.out.add(ByteBuffer.wrap(frame));
+                try {
+                    flush(key);
+                } catch (IOException e) {
+                    close(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read from a client: the upgrade request first, then client frames.
+     * @param key - the client's key
+     */
+    private void read(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        if (channel.read(connection.in) < 0) {
+            close(key);
+            return;
+        }
+        connection.in.flip();
+        boolean keep = connection.upgraded ? readFrames(connection) : readHandshake(key, connection);
+        connection.in.compact();
+        if (!keep) {
+            close(key);
+        } else if (!connection.in.hasRemaining()) {
+            // The buffer is full without a complete request or frame
+            close(key);
+        }
+    }
+
+    /**
+     * Answer the upgrade request once its headers have arrived.
+     * @return false if the request is not a valid upgrade
+     */
+    private boolean readHandshake(SelectionKey key, Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        int end = indexOf(in, HEADER_END);
+        if (end < 0) {
+            return true;
+        }
+        byte[] header = new byte[end];
+        in.get(header);
+        in.position(in.position() + HEADER_END.length);
+        String clientKey = null;
+        for (String line : new String(header, StandardCharsets.ISO_8859_1).split("\r\n")) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().toLowerCase(Locale.ROOT).equals("sec-websocket-key")) {
+                clientKey = line.substring(colon + 1).trim();
+            }
+        }
+        if (clientKey == null) {
+            return false;
+        }
+        String response = "HTTP/1.1 101 Switching Protocols\r\n"
+                + "Upgrade: websocket\r\n"
+                + "Connection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: " + acceptKey(clientKey) + "\r\n\r\n";
+        connection.out.add(ByteBuffer.wrap(response.getBytes(StandardCharsets.ISO_8859_1)));
+        connection.upgraded = true;
+        clientCount++;
+        flush(key);
+        return true;
+    }
+
+    /**
+     * Skip over complete client frames; the endpoint only listens for close.
+     * @return false if the client sent a close frame or a malformed length
+     */
+    private boolean readFrames(Connection connection) {
+        ByteBuffer in = connection.in;
+        while (in.remaining() >= 2) {
+            int start = in.position();
+            int opcode = in.get(start) & 0x0F;
+            int second = in.get(start + 1) & 0xFF;
+            long length = second & 0x7F;
+            int header = 2;
+            if (length == 126) {
+                header = 4;
+                if (in.remaining() < header) {
+                    break;
+                }
+                length = in.getShort(start + 2) & 0xFFFF;
+            } else if (length == 127) {
+                header = 10;
+                if (in.remaining() < header) {
+                    break;
+                }
+                length = in.getLong(start + 2);
+                // RFC 6455 requires the most significant bit of a 64-bit length to be 0
+                if (length < 0) {
+                    return false;
+                }
+            }
+            if ((second & 0x80) != 0) {
+                header += 4;
+            }
+            if (opcode == 0x8) {
+                return false;
+            }
+            if (header + length > in.capacity()) {
+                return false;
+            }
+            if (in.remaining() < header + length) {
+                break;
+            }
+            in.position(start + header + (int) length);
+        }
+        return true;
+    }
+
+    /**
+     * Write as much queued output as the socket takes without blocking.
+     * @param key - the client's key
+     */
+    private void flush(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+        SocketChannel channel = (SocketChannel) key.channel();
+        while (!connection.out.isEmpty()) {
+            ByteBuffer head = connection.out.peek();
+            channel.write(head);
+            if (head.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+            connection.out.poll();
+        }
+        key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void close(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        if (connection != null && connection.upgraded) {
+            connection.upgraded = false;
+            clientCount--;
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            System.err.println("Error closing client: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Encode an unmasked server text frame.
+     * @param text - the message
+     * @return the frame bytes
+     */
+    static byte[] encodeFrame(String text) {
+        byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+        int header = payload.length < 126 ? 2 : payload.length < 65536 ? 4 : 10;
+        ByteBuffer frame = ByteBuffer.allocate(header + payload.length);
+        frame.put((byte) 0x81);
+        if (header == 2) {
+            frame.put((byte) payload.length);
+        } else if (header == 4) {
+            frame.put((byte) 126);
+            frame.putShort((short) payload.length);
+        } else {
+            frame.put((byte) 127);
+            frame.putLong(payload.length);
+        }
+        frame.put(payload);
+        return frame.array();
+    }
+
+    /**
+     * Compute the Sec-WebSocket-Accept value for a client key.
+     * @param clientKey - the client's Sec-WebSocket-Key
+     * @return the accept value
+     */
+    static String acceptKey(String clientKey) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            byte[] digest = sha1.digest((clientKey + ACCEPT_GUID).getBytes(StandardCharsets.ISO_8859_1));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+    }
+
+    /**
+     * Find a byte sequence in the readable part of a buffer.
+     * @return offset from the buffer position, or -1 if absent
+     */
+    private static int indexOf(ByteBuffer buffer, byte[] target) {
+        int start = buffer.position();
+        for (int i = start; i <= buffer.limit() - target.length; i++) {
+            int j = 0;
+            while (j < target.length && buffer.get(i + j) == target[j]) {
+                j++;
+            }
+            if (j == target.length) {
+                return i - start;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Per-client state, only touched by the selector thread.
+     */
+    private static final class Connection {
+        private final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        private boolean upgraded;
+    }
+}
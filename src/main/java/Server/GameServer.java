@@ -0,0 +1,337 @@
+package Server;
+
+import Model.GameState;
+import Model.TableDrawResult;
+import Service.ExposureTracker;
+import Service.GameService;
+import Service.KenoTable;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameServer exposes a KenoTable over HTTP on localhost, with no JavaFX.
+ * Players open sessions and place tickets; each draw is settled against every
+ * pending ticket and its result is pushed to WebSocket subscribers.
+ *
+ * Endpoints:
+ *   POST /session                          open a session
+ *   GET  /session?id=N                     tickets and winnings of a session
+ *   POST /ticket?session=N&amp;numbers=1,2,3   place a ticket for the next draw, 409 over the liability cap,
+ *                                          400 for numbers off the board or repeated
+ *   POST /draw                             draw and settle the pending tickets
+ *   GET  /stats                            sessions, pending tickets, draws and exposure
+ *   ws://host:wsPort/                      draw results as JSON text frames
+ *
+ * A draw result lists, under "live", how many tickets could still win
+ * before the first drawn number and after each one, in ascending order.
+ */
+public class GameServer {
+    public static final int DEFAULT_PORT = 8080;
+    // Marks an absent --ws-port, which defaults to the HTTP port plus one
+    private static final int NO_PORT = -1;
+
+    static {
+        // Without TCP_NODELAY a keep-alive response waits for the client's delayed ACK
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final KenoTable table;
+    private final HttpServer httpServer;
+    private final DrawBroadcaster broadcaster;
+    private final ExecutorService executor;
+    private ScheduledExecutorService drawTimer;
+    private volatile long drawCount;
+
+    // Constructor, port 0 picks a free port
+    public GameServer(KenoTable table, int port, int webSocketPort) throws IOException {
+        this.table = table;
+        this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.broadcaster = new DrawBroadcaster(webSocketPort);
+        this.executor = newRequestExecutor();
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/session", guard(this::handleSession));
+        httpServer.createContext("/ticket", guard(post(this::handleTicket)));
+        httpServer.createContext("/draw", guard(post(exchange -> respond(exchange, 200, toJson(draw())))));
+        httpServer.createContext("/stats", guard(this::handleStats));
+    }
+
+    public void start() {
+        broadcaster.start();
+        httpServer.start();
+    }
+
+    /**
+     * Draw automatically at a fixed interval, in addition to POST /draw.
+     * A draw that fails is logged and the timer keeps running.
+     * @param intervalMillis - time between draws
+     */
+    public synchronized void startDrawTimer(long intervalMillis) {
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid draw interval: " + intervalMillis);
+        }
+        if (drawTimer != null) {
+            throw new IllegalStateException("The draw timer is already running");
+        }
+        drawTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "draw-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        drawTimer.scheduleAtFixedRate(this::timedDraw, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run one timed draw. An exception escaping a fixed-rate task would cancel
+     * every later draw without a trace, so it is logged here instead.
+     */
+    private void timedDraw() {
+        try {
+            draw();
+        } catch (RuntimeException e) {
+            System.err.println("Error in timed draw: " + e);
+        }
+    }
+
+    /**
+     * Stop accepting requests and close every connection.
+     */
+    public synchronized void stop() {
+        if (drawTimer != null) {
+            drawTimer.shutdownNow();
+        }
+        httpServer.stop(0);
+        broadcaster.stop();
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    public int getWebSocketPort() {
+        return broadcaster.getPort();
+    }
+
+    public KenoTable getTable() {
+        return table;
+    }
+
+    /**
+     * Draw and settle the pending tickets, then push the result to subscribers.
+     * @return summary of the draw
+     */
+    public TableDrawResult draw() {
+        TableDrawResult result = table.drawAndSettle();
+        drawCount = result.getDrawNumber();
+        broadcaster.broadcast(toJson(result));
+        return result;
+    }
+
+    private void handleSession(HttpExchange exchange) throws IOException {
+        if ("POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 200, "{\"session\":" + table.openSession() + "}");
+            return;
+        }
+        int session = Integer.parseInt(requireParameter(exchange, "id"));
+        respond(exchange, 200, "{\"session\":" + session
+                + ",\"tickets\":" + table.getTicketCount(session)
+                + ",\"winnings\":" + table.getWinnings(session) + "}");
+    }
+
+    private void handleTicket(HttpExchange exchange) throws IOException {
+        int session = Integer.parseInt(requireParameter(exchange, "session"));
+        List<Integer> numbers = new ArrayList<>();
+        for (String number : requireParameter(exchange, "numbers").split(",")) {
+            numbers.add(Integer.parseInt(number.trim()));
+        }
+        // Numbers off the board or repeated throw IllegalArgumentException, answered with 400
+        if (!table.placeTicket(session, numbers)) {
+            respond(exchange, 409, "{\"placed\":false,\"error\":\"Liability cap reached\"}");
+            return;
+        }
+        respond(exchange, 200, "{\"placed\":true}");
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        ExposureTracker exposure = table.getExposure();
+        String exposureJson = exposure == null ? "" : ",\"expectedPayout\":" + exposure.getExpectedPayout()
+                + ",\"payoutVariance\":" + exposure.getPayoutVariance()
+                + ",\"maxLiability\":" + exposure.getMaxLiability()
+                + ",\"rejected\":" + exposure.getRejectedCount();
+        respond(exchange, 200, "{\"sessions\":" + table.getSessionCount()
+                + ",\"pending\":" + table.getPendingTicketCount()
+                + ",\"draws\":" + drawCount
+                + ",\"subscribers\":" + broadcaster.getClientCount()
+                + exposureJson + "}");
+    }
+
+    /**
+     * Wrap a handler so bad input is answered with 400 instead of a dropped connection.
+     * @param handler - the handler
+     * @return the wrapped handler
+     */
+    private static HttpHandler guard(HttpHandler handler) {
+        return exchange -> {
+            try {
+                handler.handle(exchange);
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, "{\"error\":\"" + String.valueOf(e.getMessage()).replace("\"", "'") + "\"}");
+            }
+        };
+    }
+
+    /**
+     * Wrap a handler so it only answers POST.
+     * @param handler - the handler
+     * @return the wrapped handler
+     */
+    private static HttpHandler post(HttpHandler handler) {
+        return exchange -> {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"error\":\"POST required\"}");
+                return;
+            }
+            handler.handle(exchange);
+        };
+    }
+
+    /**
+     * Get a query parameter or reject the request.
+     * @return the parameter value
+     * @throws IllegalArgumentException if the parameter is missing
+     */
+    private static String requireParameter(HttpExchange exchange, String name) {
+        String value = parseQuery(exchange.getRequestURI().getRawQuery()).get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    /**
+     * Parse a query string of name=value pairs.
+     * @param query - the raw query, may be null
+     * @return map of parameter names to values
+     */
+    static Map<String, String> parseQuery(String query) {
+        Map<String, String> parameters = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                parameters.put(pair.substring(0, equals), pair.substring(equals + 1).replace("%2C", ","));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Send a JSON response and close the exchange.
+     */
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Format a draw result as JSON.
+     * @param result - the draw
+     * @return JSON text
+     */
+    static String toJson(TableDrawResult result) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"draw\":").append(result.getDrawNumber())
+                .append(",\"seed\":").append(result.getSeed())
+                .append(",\"numbers\":").append(result.getDrawnNumbers().toString().replace(" ", ""))
+                .append(",\"tickets\":").append(result.getTicketCount())
+                .append(",\"winners\":").append(result.getWinnerCount())
+                .append(",\"payout\":").append(result.getTotalPayout())
+                .append(",\"live\":").append(Arrays.toString(result.getLiveCounts()).replace(" ", ""))
+                .append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Create the request executor: a virtual thread per request when the
+     * runtime has them, otherwise a fixed pool sized for blocking I/O.
+     * @return the executor
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 4, runnable -> {
+                Thread thread = new Thread(runnable, "game-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Get an integer option given as --name=value.
+     * @param args - command line arguments
+     * @param name - option name without dashes
+     * @param defaultValue - value when the option is absent
+     * @return the option value
+     */
+    public static int intOption(String[] args, String name, int defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return Integer.parseInt(arg.substring(prefix.length()));
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Run the server from the command line until the JVM is stopped.
+     * Options: --port=8080 --ws-port=8081 --shards=cores --draw-interval=0 (ms, 0 for manual draws)
+     * --liability-cap=0 (worst-case payout per draw, 0 for no cap and no exposure tracking)
+     * @param args - command line arguments
+     */
+    public static void run(String[] args) throws IOException {
+        int port = intOption(args, "port", DEFAULT_PORT);
+        int webSocketPort = intOption(args, "ws-port", NO_PORT);
+        int shards = intOption(args, "shards", Runtime.getRuntime().availableProcessors());
+        int drawInterval = intOption(args, "draw-interval", 0);
+        int liabilityCap = intOption(args, "liability-cap", 0);
+        GameService gameService = new GameService(new GameState());
+        KenoTable table = liabilityCap > 0
+                ? new KenoTable(gameService, shards, liabilityCap)
+                : new KenoTable(gameService, shards);
+        GameServer server = new GameServer(table, port, webSocketPort == NO_PORT ? port + 1 : webSocketPort);
+        server.start();
+        if (drawInterval > 0) {
+            server.startDrawTimer(drawInterval);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.println("Keno server on http://127.0.0.1:" + server.getPort()
+                + ", draws on ws://127.0.0.1:" + server.getWebSocketPort() + "/");
+    }
+}
@@ -0,0 +1,243 @@
+package Server;
+
+import Model.NumberMask;
+import Model.PrizeTable;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadGenerator drives a running GameServer from many concurrent clients.
+ * Each client opens a session and places random tickets back to back for
+ * the length of the run, while one extra client triggers draws at a fixed
+ * interval and a WebSocket subscriber counts the pushed draw results.
+ */
+public class LoadGenerator {
+    private static final int DEFAULT_CLIENTS = 32;
+    private static final int DEFAULT_SECONDS = 10;
+    private static final int DEFAULT_DRAW_INTERVAL = 100;
+    private static final int INITIAL_LATENCY_CAPACITY = 1 << 14;
+
+    private final String baseUri;
+    private final URI webSocketUri;
+    private final int clients;
+    private final Duration duration;
+    private final long drawIntervalMillis;
+    private final HttpClient httpClient;
+
+    // Constructor
+    public LoadGenerator(String host, int port, int webSocketPort, int clients, Duration duration, long drawIntervalMillis) {
+        if (clients < 1) {
+            throw new IllegalArgumentException("Invalid client count: " + clients);
+        }
+        this.baseUri = "http://" + host + ":" + port;
+        this.webSocketUri = URI.create("ws://" + host + ":" + webSocketPort + "/");
+        this.clients = clients;
+        this.duration = duration;
+        this.drawIntervalMillis = drawIntervalMillis;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Run the load for the configured duration.
+     * @return throughput and latency of the ticket requests
+     */
+    public LoadReport run() throws InterruptedException {
+        AtomicLong drawsReceived = new AtomicLong();
+        WebSocket webSocket = subscribe(drawsReceived);
+        long deadline = System.nanoTime() + duration.toNanos();
+        Worker[] workers = new Worker[clients];
+        Thread[] threads = new Thread[clients];
+        for (int i = 0; i < clients; i++) {
+            workers[i] = new Worker(i, deadline);
+            threads[i] = new Thread(workers[i], "load-client-" + i);
+        }
+        Thread drawer = new Thread(() -> drawUntil(deadline), "load-drawer");
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        if (drawIntervalMillis > 0) {
+            drawer.start();
+        }
+        long requests = 0;
+        long errors = 0;
+        int latencyCount = 0;
+        for (int i = 0; i < clients; i++) {
+            threads[i].join();
+            requests += workers[i].requests;
+            errors += workers[i].errors;
+            latencyCount += workers[i].latencyCount;
+        }
+        long elapsed = System.nanoTime() - start;
+        drawer.join();
+        if (webSocket != null) {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+
+        long[] latencies = new long[latencyCount];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.latencyCount);
+            offset += worker.latencyCount;
+        }
+        return new LoadReport(clients, requests, errors, drawsReceived.get(), elapsed, latencies);
+    }
+
+    /**
+     * Subscribe to the draw results and count them.
+     * @param drawsReceived - counter of received results
+     * @return the open WebSocket, or null if the subscription failed
+     */
+    private WebSocket subscribe(AtomicLong drawsReceived) {
+        try {
+            return httpClient.newWebSocketBuilder().buildAsync(webSocketUri, new WebSocket.Listener() {
+                @Override
+                public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+                    if (last) {
+                        drawsReceived.incrementAndGet();
+                    }
+                    webSocket.request(1);
+                    return null;
+                }
+            }).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println("Error subscribing to draws: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Trigger draws at the configured interval until the deadline.
+     * @param deadline - end of the run on the System.nanoTime() clock
+     */
+    private void drawUntil(long deadline) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/draw"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            while (System.nanoTime() < deadline) {
+                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                Thread.sleep(drawIntervalMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Error triggering draw: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One client: opens a session, then places tickets until the deadline,
+     * recording the latency of every successful request.
+     */
+    private final class Worker implements Runnable {
+        private final SplittableRandom random;
+        private final long deadline;
+        private long[] latencies = new long[INITIAL_LATENCY_CAPACITY];
+        private int latencyCount;
+        private long requests;
+        private long errors;
+
+        Worker(int index, long deadline) {
+            this.random = new SplittableRandom(index);
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            int session;
+            try {
+                HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUri + "/session"))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                String body = response.body();
+                session = Integer.parseInt(body.substring(body.indexOf(':') + 1, body.indexOf('}')));
+            } catch (Exception e) {
+                System.err.println("Error opening session: " + e.getMessage());
+                errors++;
+                return;
+            }
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/ticket?session=" + session + "&numbers=" + randomTicket()))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+                long start = System.nanoTime();
+                requests++;
+                try {
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                        continue;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    errors++;
+                    continue;
+                }
+                record(System.nanoTime() - start);
+            }
+        }
+
+        private void record(long latency) {
+            if (latencyCount == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencyCount * 2);
+            }
+            latencies[latencyCount++] = latency;
+        }
+
+        /**
+         * Pick 1 to 10 distinct random numbers.
+         * @return the numbers separated by commas
+         */
+        private String randomTicket() {
+            int spots = 1 + random.nextInt(PrizeTable.MAX_SPOTS);
+            long low = 0L;
+            long high = 0L;
+            StringBuilder sb = new StringBuilder();
+            while (spots > 0) {
+                int number = 1 + random.nextInt(NumberMask.MAX_NUMBER);
+                if (NumberMask.contains(low, high, number)) {
+                    continue;
+                }
+                low |= NumberMask.lowBit(number);
+                high |= NumberMask.highBit(number);
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(number);
+                spots--;
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Run the load generator from the command line against a running server.
+     * Options: --port=8080 --ws-port=8081 --clients=32 --seconds=10 --draw-interval=100 (ms, 0 for none)
+     * @param args - command line arguments
+     */
+    public static void run(String[] args) throws InterruptedException {
+        int port = GameServer.intOption(args, "port", GameServer.DEFAULT_PORT);
+        LoadGenerator generator = new LoadGenerator("127.0.0.1", port,
+                GameServer.intOption(args, "ws-port", port + 1),
+                GameServer.intOption(args, "clients", DEFAULT_CLIENTS),
+                Duration.ofSeconds(GameServer.intOption(args, "seconds", DEFAULT_SECONDS)),
+                GameServer.intOption(args, "draw-interval", DEFAULT_DRAW_INTERVAL));
+        System.out.println(generator.run());
+    }
+}
@@ -0,0 +1,79 @@
+package Server;
+
+import java.util.Arrays;
+
+/**
+ * LoadReport class holds the outcome of a load generator run: request
+ * counts, throughput and the latency distribution of successful requests.
+ */
+public class LoadReport {
+    private final int clients;
+    private final long requests;
+    private final long errors;
+    private final long drawsReceived;
+    private final long elapsedNanos;
+    // Sorted latencies of the successful requests
+    private final long[] latencies;
+
+    // Constructor, latencies are sorted in place
+    public LoadReport(int clients, long requests, long errors, long drawsReceived, long elapsedNanos, long[] latencies) {
+        Arrays.sort(latencies);
+        this.clients = clients;
+        this.requests = requests;
+        this.errors = errors;
+        this.drawsReceived = drawsReceived;
+        this.elapsedNanos = elapsedNanos;
+        this.latencies = latencies;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getDrawsReceived() {
+        return drawsReceived;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Get the throughput of the run.
+     * @return requests per second
+     */
+    public double getRequestsPerSecond() {
+        return elapsedNanos == 0 ? 0 : requests * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Get a latency percentile with the nearest-rank method.
+     * @param percentile - percentile between 0 and 100
+     * @return latency in milliseconds, or 0 if no request succeeded
+     */
+    public double getLatencyMillis(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Invalid percentile: " + percentile);
+        }
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+        return latencies[Math.max(rank - 1, 0)] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d clients, %d requests (%d errors) in %.1f s: %.0f req/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms, %d draws pushed",
+                clients, requests, errors, elapsedNanos / 1e9, getRequestsPerSecond(),
+                getLatencyMillis(50), getLatencyMillis(99), getLatencyMillis(100), drawsReceived);
+    }
+}
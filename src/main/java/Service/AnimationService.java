@@ -1,6 +1,7 @@
 package Service;
 
 import Model.GameState;
+import Model.NumberMask;
 import View.Component.NumberButton;
 import View.Component.PrizeItemBox;
 import Model.GameHistory;
@@ -23,8 +24,9 @@ import java.util.Map;
 
 /**
  * AnimationService handles animations and transitions in the game.
+ * Rounds are replayed from a DrawScript by a single DrawScheduler.
  */
-public class AnimationService {
+public class AnimationService implements DrawScheduler.StepHandler {
     // Fields
     private GameView gameView;
     private GameService gameService;
@@ -33,13 +35,27 @@ public class AnimationService {
     private PopOver modePopOver;
     private PopOver drawingsPopOver;
     private AudioService audioService;
+    private RoundEngine roundEngine;
+    private DrawScript drawScript;
+    private DrawScheduler drawScheduler;
+    private DrawRing.Subscriber drawSubscriber;
+    private long resultLowMask;
+    private long resultHighMask;
 
     // Constructor
-    public AnimationService(AudioService audioService, GameService gameService, GameView gameView, GameState gameState) {
+    public AnimationService(AudioService audioService, GameService gameService, GameView gameView, GameState gameState, RoundEngine roundEngine) {
         this.audioService = audioService;
         this.gameService = gameService;
         this.gameView = gameView;
         this.gameState = gameState;
+        this.roundEngine = roundEngine;
+        this.drawScript = new DrawScript();
+        roundEngine.addListener(drawScript);
+        this.drawScheduler = new DrawScheduler();
+        // The result window reads the settled draws from the engine's ring when it has one
+        if (roundEngine.getDrawRing() != null) {
+            this.drawSubscriber = roundEngine.getDrawRing().subscribe();
+        }
         prizeItemBoxes = new ArrayList<>();
     }
 
@@ -129,9 +145,8 @@ public class AnimationService {
      * Starts the next round of the game with animations.
      */
     public void startNextRound() {
-        // Increment round and reset match count for new round
-        gameState.incrementRound();
-        gameState.resetTotalMatchCount();
+        // Play and settle the round in the engine; the animation only replays its events
+        roundEngine.playRound();
 
         // Play start sound and prepare UI for new round
         audioService.playSound(AudioService.START_SOUND);
@@ -142,11 +157,7 @@ public class AnimationService {
         gameView.getModeSelector().setDisable(true);
         gameView.getDrawingsSelector().setDisable(true);
         gameView.setSlotIconsVisible(true);
-        updatePrizeHighlights();
-
-        // Animate system selections
-        List<Integer> systemSelections = gameService.randomSelectNumbersForSystem();
-        Collections.sort(systemSelections);
+        updatePrizeHighlights(0);
 
         if (gameState.isCheatMode()) {
             gameView.updateStatusLabel("Cheat mode active! Jackpot incoming...", ThemeStyles.INFO_LABEL_STATUS_SURPRISE);
@@ -154,89 +165,101 @@ public class AnimationService {
             gameView.updateStatusLabel("System is selecting numbers...", ThemeStyles.INFO_LABEL_STATUS_POSITIVE);
         }
 
-        animateSystemSelections(systemSelections);
+        animateSystemSelections();
     }
 
     /**
-     * Animates the system's number selections.
-     * @param systemSelections - list of numbers selected by the system
+     * Animates the system's number selections recorded in the draw script.
      */
-    private void animateSystemSelections(List<Integer> systemSelections) {
-        // Animate each system selection with a delay
-        for (int num : systemSelections) {
-            PauseTransition pause = new PauseTransition(Duration.seconds(0.2 * systemSelections.indexOf(num)));
-            pause.setOnFinished(e -> {
-                // Highlight the selected number button
-                gameView.getNumberButtons()[num - 1].systemSelect();
-                // Check for matches and update highlights
-                if (gameState.getSelectedNumbers().contains(num)) {
-                    gameState.incrementCurrentMatchCount();
-                    updatePrizeHighlights();
-                }
-            });
-            pause.play();
+    private void animateSystemSelections() {
+        drawScheduler.play(drawScript, this);
+    }
+
+    /**
+     * Highlights a drawn number and updates highlights on matches.
+     * @param index - index of the number in the draw script
+     */
+    @Override
+    public void onNumberRevealed(int index) {
+        gameView.getNumberButtons()[drawScript.getNumber(index) - 1].systemSelect();
+        if (drawScript.isMatched(index)) {
+            updatePrizeHighlights(drawScript.getMatchesSoFar(index));
+        }
+        // Tell the player once the ticket drops out of play
+        int spots = gameService.getMaxSelections();
+        int remaining = drawScript.size() - index - 1;
+        int matchesBefore = index > 0 ? drawScript.getMatchesSoFar(index - 1) : 0;
+        if (!IncrementalSettlement.canStillWin(spots, drawScript.getMatchesSoFar(index), remaining)
+                && IncrementalSettlement.canStillWin(spots, matchesBefore, remaining + 1)) {
+            gameView.updateStatusLabel("No prize left in reach this round...", ThemeStyles.INFO_LABEL_STATUS_NEUTRAL);
         }
+    }
 
-        // After all selections, process the results
-        PauseTransition processPause = getProcessingTransition(systemSelections);
-        processPause.play();
+    /**
+     * Shows the outcome of the round once every number is drawn.
+     * The engine has settled the round already.
+     */
+    @Override
+    public void onNumbersComplete() {
+        gameView.setSlotIconsVisible(false);
+        int matchedCount = drawScript.getMatches();
+
+        // Play appropriate sound and update status label
+        if(gameService.isWin(matchedCount)) {
+            audioService.playSound(AudioService.JACKPOT_SOUND);
+            gameView.updateStatusLabel("Round over! You matched " + matchedCount + " number(s).", ThemeStyles.INFO_LABEL_STATUS_SURPRISE);
+        }else {
+            audioService.playSound(AudioService.FINISH_SOUND);
+            gameView.updateStatusLabel("Round over! You matched " + matchedCount + " number(s).", ThemeStyles.INFO_LABEL_STATUS_POSITIVE);
+        }
     }
 
     /**
-     * Creates a transition to process the results after system selections.
-     * @param systemSelections - list of numbers selected by the system
-     * @return PauseTransition for processing results
+     * Shows the result window of the round.
      */
-    private PauseTransition getProcessingTransition(List<Integer> systemSelections) {
-        // Delay based on number of selections
-        PauseTransition processPause = new PauseTransition(Duration.seconds(0.2 * systemSelections.size() + 0.3));
-        processPause.setOnFinished(ev -> {
-            // Process results and show outcome
-            gameView.setSlotIconsVisible(false);
-            int matchedCount = gameState.getCurrentMatchCount();
-            int roundPrize = gameService.calculatePrize(matchedCount);
-            gameState.resetCurrentMatchCount();
-
-            // Get matched numbers for history and result later
-            List<Integer> matchedNumbers = gameService.getMatchedNumbers(systemSelections);
-            gameState.addToTotalWinnings(roundPrize);
-            gameState.addToTotalMatchCount(matchedCount);
-
-            // Play appropriate sound and update status label
-            if(gameService.isWin(matchedCount)) {
-                audioService.playSound(AudioService.JACKPOT_SOUND);
-                gameView.updateStatusLabel("Round over! You matched " + matchedCount + " number(s).", ThemeStyles.INFO_LABEL_STATUS_SURPRISE);
-            }else {
-                audioService.playSound(AudioService.FINISH_SOUND);
-                gameView.updateStatusLabel("Round over! You matched " + matchedCount + " number(s).", ThemeStyles.INFO_LABEL_STATUS_POSITIVE);
-            }
+    @Override
+    public void onResultDue() {
+        int round = drawScript.getRound();
+        int totalRounds = drawScript.getTotalRounds();
+        int matchedCount = drawScript.getMatches();
+        int roundPrize = drawScript.getPrize();
+        List<Integer> matchedNumbers = drawSubscriber != null && drawSubscriber.poll(this::takeResultDraw, Integer.MAX_VALUE) > 0
+                ? NumberMask.toList(resultLowMask & gameService.getSelectedLowMask(), resultHighMask & gameService.getSelectedHighMask())
+                : drawScript.getMatchedNumbers();
+        Platform.runLater( () -> {
+            InfoWindow.showResult(round, totalRounds, matchedCount, roundPrize, matchedNumbers,this::startNextRound, this::onAllRoundsCompleted, gameView.getRoot());
+        });
+    }
 
+    /**
+     * Keep the latest published draw for the result window.
+     * @param draw - a draw read from the ring
+     */
+    private void takeResultDraw(DrawRing.DrawView draw) {
+        resultLowMask = draw.getLowMask();
+        resultHighMask = draw.getHighMask();
+    }
 
-            // Show result after a short delay
-            PauseTransition showResultDelay = new PauseTransition(Duration.seconds(1));
-            showResultDelay.setOnFinished(e -> {
-                Platform.runLater( () -> {
-                    InfoWindow.showResult(gameState.getCurrentRound(), gameService.getMaxDrawings(), matchedCount, roundPrize, matchedNumbers,this::startNextRound, this::onAllRoundsCompleted, gameView.getRoot());
-                });
-            });
-            showResultDelay.play();
-        });
-        return processPause;
+    /**
+     * Skips the draw animation to the end of the current round.
+     */
+    public void skipDrawAnimation() {
+        drawScheduler.skipAhead();
     }
 
     /**
-     * Resets the game state for a new game.
+     * Switches the draw animation to the next speed.
+     * @return the new speed
+     */
+    public DrawScheduler.Speed cycleDrawSpeed() {
+        drawScheduler.setSpeed(drawScheduler.getSpeed().next());
+        return drawScheduler.getSpeed();
+    }
+
+    /**
+     * Resets the UI components for a new game once the engine has finished the game.
      */
     private void resetGameState() {
-        // Add current game to history
-        gameState.addGameHistory(new GameHistory(
-                gameService.getMaxDrawings(),
-                gameState.getTotalMatchCount(),
-                gameState.getTotalWinnings()
-        ));
-        // Reset game state and UI components
-        gameService.resetForNewGame();
-        gameState.setCheatMode(false);
         gameView.getControlArea().setDisable(false);
         gameView.getDrawingsSelector().setDisable(false);
         setAllNumberSelectable(true);
@@ -249,6 +272,9 @@ public class AnimationService {
      * Resets the entire game for a new session.
      */
     public void resetGame() {
+        // Stop any round still being replayed
+        drawScheduler.stop();
+
         // Reset game state and UI components
         gameState.setGameDrawings(null);
         gameState.setGameMode(null);
@@ -276,10 +302,11 @@ public class AnimationService {
      * Handles the completion of all rounds in the game.
      */
     private void onAllRoundsCompleted() {
-        // Reset game state and show final status
+        // Record the game, reset state and show final status
+        GameHistory history = roundEngine.finishGame();
         resetGameState();
         gameView.updateStatusLabel(
-                "All rounds complete! Total prize: $" + gameState.getTotalWinnings(),
+                "All rounds complete! Total prize: $" + history.getTotalPrize(),
                 ThemeStyles.INFO_LABEL_STATUS_SURPRISE
         );
     }
@@ -295,10 +322,10 @@ public class AnimationService {
     }
 
     /**
-     * Updates the prize highlights based on current match count.
+     * Updates the prize highlights based on the match count shown so far.
+     * @param currentMatchCount - matches revealed so far in the round
      */
-    public void updatePrizeHighlights() {
-        Integer currentMatchCount = gameState.getCurrentMatchCount();
+    public void updatePrizeHighlights(int currentMatchCount) {
         // Update prize highlights based on current match count
         for (PrizeItemBox item : prizeItemBoxes) {
             if (item.getRequiredMatches() < currentMatchCount) {
@@ -3,11 +3,18 @@ package Service;
 import javafx.scene.media.AudioClip;
 
 import java.net.URL;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * AudioService class to manage loading and playing sound effects.
+ * One instance is shared by the whole application: clips are decoded once,
+ * in parallel on background threads, and kept for every later game.
+ * Playback goes through a small voice pool, so bursts of the same sound
+ * collapse into a few voices instead of stacking up.
  */
 public class AudioService {
     // Sound file paths
@@ -18,54 +25,112 @@ public class AudioService {
     public static final String START_SOUND = "/sound/start.wav";
     public static final String FINISH_SOUND = "/sound/finish.wav";
     public static final String JACKPOT_SOUND = "/sound/jackpot.wav";
+    private static final String[] ALL_SOUNDS = {
+            CLICK_SOUND, CLEAR_SOUND, MATCH_SOUND, MODE_SOUND, START_SOUND, FINISH_SOUND, JACKPOT_SOUND
+    };
+    // Voices that may start within one voice window, and the window length
+    private static final int MAX_VOICES = 4;
+    private static final long VOICE_WINDOW_NANOS = 150_000_000L;
+    // Minimum gap before the same clip is triggered again
+    private static final long RETRIGGER_NANOS = 80_000_000L;
+
+    private static final AudioService INSTANCE = new AudioService();
+
     // Map to hold loaded sounds
-    private Map<String, AudioClip> soundMap;
+    private final Map<String, AudioClip> soundMap = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastPlayed = new ConcurrentHashMap<>();
+    // Start times of the most recent voices, used as a ring
+    private final long[] voiceStarts = new long[MAX_VOICES];
+    private int nextVoice;
+    private CompletableFuture<Void> preload;
 
-    // Constructor to initialize and load sounds
-    public AudioService(){
-        soundMap = new HashMap<>();
-        loadAllSounds();
+    // Constructor, use getInstance()
+    private AudioService() {
     }
 
-    // Method to load all sound files
-    private void loadAllSounds() {
-        // Load sound files
-        loadSound(CLICK_SOUND);
-        loadSound(CLEAR_SOUND);
-        loadSound(MATCH_SOUND);
-        loadSound(MODE_SOUND);
-        loadSound(START_SOUND);
-        loadSound(FINISH_SOUND);
-        loadSound(JACKPOT_SOUND);
+    /**
+     * Get the shared audio service.
+     * @return the application's audio service
+     */
+    public static AudioService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start decoding all sounds in the background. Safe to call more than once;
+     * later calls return the same task.
+     * @return task completing when every sound has been loaded or has failed
+     */
+    public synchronized CompletableFuture<Void> preload() {
+        if (preload != null) {
+            return preload;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(ALL_SOUNDS.length, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread thread = new Thread(r, "audio-preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<?>[] loads = new CompletableFuture<?>[ALL_SOUNDS.length];
+        for (int i = 0; i < ALL_SOUNDS.length; i++) {
+            String soundFile = ALL_SOUNDS[i];
+            loads[i] = CompletableFuture.runAsync(() -> loadSound(soundFile), executor);
+        }
+        preload = CompletableFuture.allOf(loads).whenComplete((ignored, error) -> executor.shutdown());
+        return preload;
     }
 
     /**
      * Loads a sound file and stores it in the sound map.
-     * @param clickSoundFile The path to the sound file to load.
+     * @param soundFile The path to the sound file to load.
      */
-    private void loadSound(String clickSoundFile) {
-        System.out.println("Loading sound: " + clickSoundFile);
+    private void loadSound(String soundFile) {
         try {
-            URL soundURL = getClass().getResource(clickSoundFile);
+            URL soundURL = getClass().getResource(soundFile);
             if (soundURL == null) {
-                throw new Exception("Sound file not found: " + clickSoundFile);
+                throw new Exception("Sound file not found: " + soundFile);
             }
-            AudioClip clip = new AudioClip(soundURL.toExternalForm());
-            soundMap.put(clickSoundFile, clip);
-            System.out.println("Sound loaded successfully: " + clickSoundFile);
+            soundMap.put(soundFile, new AudioClip(soundURL.toExternalForm()));
         } catch (Exception e){
-            System.err.println("Error loading sound: " + clickSoundFile + " : "  + e.getMessage());
+            System.err.println("Error loading sound: " + soundFile + " : "  + e.getMessage());
         }
     }
 
     /**
-     * Plays the specified sound effect.
+     * Plays the specified sound effect. Sounds that are still loading are
+     * skipped rather than waited for, and triggers are dropped when the clip
+     * was just played or every voice of the pool is busy.
      * @param soundFile - The path to the sound file to play.
      */
     public void playSound(String soundFile) {
         AudioClip clip = soundMap.get(soundFile);
-        if (clip != null) {
-            clip.play();
+        if (clip == null) {
+            preload();
+            return;
+        }
+        long now = System.nanoTime();
+        Long last = lastPlayed.get(soundFile);
+        if (last != null && now - last < RETRIGGER_NANOS) {
+            return;
+        }
+        if (!claimVoice(now)) {
+            return;
+        }
+        lastPlayed.put(soundFile, now);
+        clip.play();
+    }
+
+    /**
+     * Claim a voice if the oldest of the recent voices has left the window.
+     * @param now - current time in nanoseconds
+     * @return True if a voice was claimed, false if the pool is busy.
+     */
+    private synchronized boolean claimVoice(long now) {
+        long oldest = voiceStarts[nextVoice];
+        if (oldest != 0 && now - oldest < VOICE_WINDOW_NANOS) {
+            return false;
         }
+        voiceStarts[nextVoice] = now;
+        nextVoice = (nextVoice + 1) % MAX_VOICES;
+        return true;
     }
 }
@@ -0,0 +1,148 @@
+package Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ColumnarRoundExporter writes rounds in a compact columnar binary format.
+ * Rows are collected into row groups; each group is written column after
+ * column, so a reader or an analysis tool can load one column as a flat
+ * array. Only one row group is held in memory at a time.
+ *
+ * File layout, little-endian:
+ * <pre>
+ *   header     8 bytes  magic "KENOCOL1"
+ *   row group  int rowCount (1..ROW_GROUP_SIZE), then one column per field:
+ *              long game, int round, long seed, byte spots,
+ *              long pickLow, short pickHigh, long drawLow, short drawHigh,
+ *              byte matches, int prize
+ *   footer     int 0, long total row count
+ * </pre>
+ */
+public class ColumnarRoundExporter extends RoundExporter {
+    public static final byte[] MAGIC = "KENOCOL1".getBytes(StandardCharsets.US_ASCII);
+    // Rows per row group
+    public static final int ROW_GROUP_SIZE = 1 << 16;
+
+    private final long[] games = new long[ROW_GROUP_SIZE];
+    private final int[] rounds = new int[ROW_GROUP_SIZE];
+    private final long[] seeds = new long[ROW_GROUP_SIZE];
+    private final byte[] spots = new byte[ROW_GROUP_SIZE];
+    private final long[] pickLows = new long[ROW_GROUP_SIZE];
+    private final short[] pickHighs = new short[ROW_GROUP_SIZE];
+    private final long[] drawLows = new long[ROW_GROUP_SIZE];
+    private final short[] drawHighs = new short[ROW_GROUP_SIZE];
+    private final byte[] matches = new byte[ROW_GROUP_SIZE];
+    private final int[] prizes = new int[ROW_GROUP_SIZE];
+    private int groupRows;
+
+    // Constructor writing the header
+    public ColumnarRoundExporter(WritableByteChannel channel) {
+        super(channel, ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+        buffer.put(MAGIC);
+    }
+
+    /**
+     * Create or replace a columnar export file.
+     * @param file - the file to write
+     * @return the exporter
+     * @throws IOException if the file cannot be opened
+     */
+    public static ColumnarRoundExporter open(Path file) throws IOException {
+        return new ColumnarRoundExporter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    @Override
+    protected void encodeRound(long game, int round, long seed, int spots, long pickLow, long pickHigh,
+                               long drawLow, long drawHigh, int matches, int prize) throws IOException {
+        int row = groupRows;
+        games[row] = game;
+        rounds[row] = round;
+        seeds[row] = seed;
+        this.spots[row] = (byte) spots;
+        pickLows[row] = pickLow;
+        pickHighs[row] = (short) pickHigh;
+        drawLows[row] = drawLow;
+        drawHighs[row] = (short) drawHigh;
+        this.matches[row] = (byte) matches;
+        prizes[row] = prize;
+        if (++groupRows == ROW_GROUP_SIZE) {
+            writeRowGroup();
+        }
+    }
+
+    /**
+     * Write the collected rows as one row group, column by column.
+     * @throws IOException if the channel cannot be written
+     */
+    private void writeRowGroup() throws IOException {
+        int rows = groupRows;
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(rows);
+        for (int i = 0; i < rows; i++) {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(games[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(rounds[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(seeds[i]);
+        }
+        putBytes(spots, rows);
+        for (int i = 0; i < rows; i++) {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(pickLows[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            ensureRemaining(Short.BYTES);
+            buffer.putShort(pickHighs[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(drawLows[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            ensureRemaining(Short.BYTES);
+            buffer.putShort(drawHighs[i]);
+        }
+        putBytes(matches, rows);
+        for (int i = 0; i < rows; i++) {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(prizes[i]);
+        }
+        groupRows = 0;
+    }
+
+    /**
+     * Put the first rows of a byte column, in as many pieces as the buffer needs.
+     */
+    private void putBytes(byte[] column, int rows) throws IOException {
+        int offset = 0;
+        while (offset < rows) {
+            ensureRemaining(1);
+            int length = Math.min(rows - offset, buffer.remaining());
+            buffer.put(column, offset, length);
+            offset += length;
+        }
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        if (groupRows > 0) {
+            writeRowGroup();
+        }
+        ensureRemaining(Integer.BYTES + Long.BYTES);
+        buffer.putInt(0);
+        buffer.putLong(getRowCount());
+    }
+}
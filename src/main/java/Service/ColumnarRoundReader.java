@@ -0,0 +1,219 @@
+package Service;
+
+import Model.NumberMask;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * ColumnarRoundReader reads a file written by ColumnarRoundExporter one row
+ * group at a time, so a file of any length is read in constant memory.
+ * Rows are visited with next() and read with the getters of the current row.
+ */
+public class ColumnarRoundReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int GROUP_SIZE = ColumnarRoundExporter.ROW_GROUP_SIZE;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final long[] games = new long[GROUP_SIZE];
+    private final int[] rounds = new int[GROUP_SIZE];
+    private final long[] seeds = new long[GROUP_SIZE];
+    private final byte[] spots = new byte[GROUP_SIZE];
+    private final long[] pickLows = new long[GROUP_SIZE];
+    private final short[] pickHighs = new short[GROUP_SIZE];
+    private final long[] drawLows = new long[GROUP_SIZE];
+    private final short[] drawHighs = new short[GROUP_SIZE];
+    private final byte[] matches = new byte[GROUP_SIZE];
+    private final int[] prizes = new int[GROUP_SIZE];
+    private int groupRows;
+    private int row = -1;
+    private long rowsRead;
+    private boolean finished;
+
+    // Constructor checking the header
+    public ColumnarRoundReader(ReadableByteChannel channel) throws IOException {
+        this.channel = channel;
+        buffer.limit(0);
+        byte[] magic = new byte[ColumnarRoundExporter.MAGIC.length];
+        require(magic.length);
+        buffer.get(magic);
+        if (!Arrays.equals(magic, ColumnarRoundExporter.MAGIC)) {
+            throw new IOException("Not a columnar round export");
+        }
+    }
+
+    /**
+     * Open a columnar export file.
+     * @param file - the file to read
+     * @return the reader
+     * @throws IOException if the file cannot be opened or has the wrong format
+     */
+    public static ColumnarRoundReader open(Path file) throws IOException {
+        return new ColumnarRoundReader(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    /**
+     * Move to the next row, loading the next row group when needed.
+     * @return True if there is a row, false at the end of the file.
+     * @throws IOException if the file is truncated or corrupt
+     */
+    public boolean next() throws IOException {
+        if (++row < groupRows) {
+            return true;
+        }
+        if (finished || !readRowGroup()) {
+            finished = true;
+            return false;
+        }
+        row = 0;
+        return true;
+    }
+
+    /**
+     * Read the next row group, or the footer at the end of the file.
+     * @return True if a row group was read, false at the footer.
+     */
+    private boolean readRowGroup() throws IOException {
+        require(Integer.BYTES);
+        int rows = buffer.getInt();
+        if (rows == 0) {
+            require(Long.BYTES);
+            long total = buffer.getLong();
+            if (total != rowsRead) {
+                throw new IOException("Footer counts " + total + " rows but the file holds " + rowsRead);
+            }
+            return false;
+        }
+        if (rows < 0 || rows > GROUP_SIZE) {
+            throw new IOException("Invalid row group size: " + rows);
+        }
+        for (int i = 0; i < rows; i++) {
+            require(Long.BYTES);
+            games[i] = buffer.getLong();
+        }
+        for (int i = 0; i < rows; i++) {
+            require(Integer.BYTES);
+            rounds[i] = buffer.getInt();
+        }
+        for (int i = 0; i < rows; i++) {
+            require(Long.BYTES);
+            seeds[i] = buffer.getLong();
+        }
+        getBytes(spots, rows);
+        for (int i = 0; i < rows; i++) {
+            require(Long.BYTES);
+            pickLows[i] = buffer.getLong();
+        }
+        for (int i = 0; i < rows; i++) {
+            require(Short.BYTES);
+            pickHighs[i] = buffer.getShort();
+        }
+        for (int i = 0; i < rows; i++) {
+            require(Long.BYTES);
+            drawLows[i] = buffer.getLong();
+        }
+        for (int i = 0; i < rows; i++) {
+            require(Short.BYTES);
+            drawHighs[i] = buffer.getShort();
+        }
+        getBytes(matches, rows);
+        for (int i = 0; i < rows; i++) {
+            require(Integer.BYTES);
+            prizes[i] = buffer.getInt();
+        }
+        groupRows = rows;
+        rowsRead += rows;
+        return true;
+    }
+
+    private void getBytes(byte[] column, int rows) throws IOException {
+        int offset = 0;
+        while (offset < rows) {
+            require(1);
+            int length = Math.min(rows - offset, buffer.remaining());
+            buffer.get(column, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Make sure the buffer holds at least the given number of unread bytes.
+     * @param bytes - bytes about to be read
+     * @throws EOFException if the file ends first
+     */
+    private void require(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Columnar round export is truncated");
+            }
+        }
+        buffer.flip();
+    }
+
+    // Getters for the current row
+    public long getGame() {
+        return games[row];
+    }
+
+    public int getRound() {
+        return rounds[row];
+    }
+
+    public long getSeed() {
+        return seeds[row];
+    }
+
+    public int getSpots() {
+        return spots[row];
+    }
+
+    public long getPickLow() {
+        return pickLows[row];
+    }
+
+    public long getPickHigh() {
+        return pickHighs[row] & NumberMask.HIGH_WORD_MASK;
+    }
+
+    public long getDrawLow() {
+        return drawLows[row];
+    }
+
+    public long getDrawHigh() {
+        return drawHighs[row] & NumberMask.HIGH_WORD_MASK;
+    }
+
+    public int getMatches() {
+        return matches[row];
+    }
+
+    public int getPrize() {
+        return prizes[row];
+    }
+
+    /**
+     * Get the number of rows in the row groups read so far.
+     * @return rows read
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,113 @@
+package Service;
+
+import Model.NumberMask;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CsvRoundExporter writes one CSV line per round. Picks and draw are written
+ * as space-separated numbers in ascending order:
+ * <pre>
+ *   game,round,seed,spots,picks,draw,matches,prize
+ *   1,1,-4962768465676381896,4,3 17 42 80,1 3 ... 77,2,1
+ * </pre>
+ * Lines are encoded as ASCII straight into the write buffer, without
+ * building strings.
+ */
+public class CsvRoundExporter extends RoundExporter {
+    private static final byte[] HEADER = "game,round,seed,spots,picks,draw,matches,prize\n".getBytes(StandardCharsets.US_ASCII);
+    // Upper bound of one encoded line; the longest possible line is about 150 bytes
+    private static final int MAX_LINE_SIZE = 256;
+
+    // Digits of the number being encoded, filled from the end
+    private final byte[] digits = new byte[20];
+
+    // Constructor writing the header line
+    public CsvRoundExporter(WritableByteChannel channel) {
+        super(channel, ByteBuffer.allocateDirect(BUFFER_SIZE));
+        buffer.put(HEADER);
+    }
+
+    /**
+     * Create or replace a CSV export file.
+     * @param file - the file to write
+     * @return the exporter
+     * @throws IOException if the file cannot be opened
+     */
+    public static CsvRoundExporter open(Path file) throws IOException {
+        return new CsvRoundExporter(FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    @Override
+    protected void encodeRound(long game, int round, long seed, int spots, long pickLow, long pickHigh,
+                               long drawLow, long drawHigh, int matches, int prize) throws IOException {
+        ensureRemaining(MAX_LINE_SIZE);
+        putNumber(game);
+        buffer.put((byte) ',');
+        putNumber(round);
+        buffer.put((byte) ',');
+        putNumber(seed);
+        buffer.put((byte) ',');
+        putNumber(spots);
+        buffer.put((byte) ',');
+        putNumbers(pickLow, pickHigh);
+        buffer.put((byte) ',');
+        putNumbers(drawLow, drawHigh);
+        buffer.put((byte) ',');
+        putNumber(matches);
+        buffer.put((byte) ',');
+        putNumber(prize);
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * Put the numbers of a mask in ascending order, separated by spaces.
+     * @param low - low word of the mask
+     * @param high - high word of the mask
+     */
+    private void putNumbers(long low, long high) {
+        boolean first = true;
+        for (long bits = low; bits != 0; bits &= bits - 1) {
+            if (!first) {
+                buffer.put((byte) ' ');
+            }
+            putNumber(Long.numberOfTrailingZeros(bits) + 1);
+            first = false;
+        }
+        for (long bits = high; bits != 0; bits &= bits - 1) {
+            if (!first) {
+                buffer.put((byte) ' ');
+            }
+            putNumber(Long.numberOfTrailingZeros(bits) + NumberMask.LOW_WORD_BITS + 1);
+            first = false;
+        }
+    }
+
+    /**
+     * Put a number in decimal ASCII.
+     * @param value - the number
+     */
+    private void putNumber(long value) {
+        if (value == Long.MIN_VALUE) {
+            buffer.put("-9223372036854775808".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, start, digits.length - start);
+    }
+}
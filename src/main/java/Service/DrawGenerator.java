@@ -0,0 +1,190 @@
+package Service;
+
+import Model.NumberMask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DrawGenerator produces Keno draws with a partial Fisher-Yates shuffle over a
+ * reusable 80-element array. Each draw takes one seed from its RandomSource and
+ * expands it with SplitMix64, so drawing k numbers costs exactly k random steps,
+ * never retries, and can be replayed bit for bit from the seed.
+ * Not thread-safe; give each thread its own generator.
+ */
+public class DrawGenerator {
+    // Numbers drawn by the system each round
+    public static final int DRAW_SIZE = 20;
+    // Odd increment of the SplitMix64 sequence
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    // Pool contents every draw starts from, so a seed fully determines the draw
+    private static final int[] INITIAL_POOL = new int[NumberMask.MAX_NUMBER];
+    private static final int[] INITIAL_POSITIONS = new int[NumberMask.MAX_NUMBER + 1];
+
+    static {
+        for (int i = 0; i < NumberMask.MAX_NUMBER; i++) {
+            INITIAL_POOL[i] = i + 1;
+            INITIAL_POSITIONS[i + 1] = i;
+        }
+    }
+
+    private final RandomSource source;
+    // pool[0..count) holds the drawn numbers after a draw
+    private final int[] pool = new int[NumberMask.MAX_NUMBER];
+    // positions[n] is the index of number n in pool
+    private final int[] positions = new int[NumberMask.MAX_NUMBER + 1];
+    private int count;
+    private long seed;
+    private long lowMask;
+    private long highMask;
+
+    // Constructor
+    public DrawGenerator(RandomSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Draw the standard 20 numbers with a fresh seed.
+     * @return the seed of the draw
+     */
+    public long draw() {
+        return draw(DRAW_SIZE, 0L, 0L);
+    }
+
+    /**
+     * Draw numbers with a fresh seed, always including the forced numbers.
+     * @param count - how many numbers to draw
+     * @param forcedLow - low word of numbers that must be drawn
+     * @param forcedHigh - high word of numbers that must be drawn
+     * @return the seed of the draw
+     */
+    public long draw(int count, long forcedLow, long forcedHigh) {
+        long drawSeed = source.nextSeed();
+        replay(drawSeed, count, forcedLow, forcedHigh);
+        return drawSeed;
+    }
+
+    /**
+     * Replay the standard 20-number draw for a recorded seed.
+     * @param drawSeed - the seed of the draw
+     */
+    public void replay(long drawSeed) {
+        replay(drawSeed, DRAW_SIZE, 0L, 0L);
+    }
+
+    /**
+     * Replay a draw for a recorded seed. Forced numbers take the first slots
+     * and the remaining slots are filled by the shuffle.
+     * @param drawSeed - the seed of the draw
+     * @param count - how many numbers to draw
+     * @param forcedLow - low word of numbers that must be drawn
+     * @param forcedHigh - high word of numbers that must be drawn
+     */
+    public void replay(long drawSeed, int count, long forcedLow, long forcedHigh) {
+        if (count < 0 || count > NumberMask.MAX_NUMBER) {
+            throw new IllegalArgumentException("Cannot draw " + count + " numbers");
+        }
+        System.arraycopy(INITIAL_POOL, 0, pool, 0, pool.length);
+        System.arraycopy(INITIAL_POSITIONS, 0, positions, 0, positions.length);
+        int filled = 0;
+        while (forcedLow != 0 && filled < count) {
+            swap(filled++, positions[Long.numberOfTrailingZeros(forcedLow) + 1]);
+            forcedLow &= forcedLow - 1;
+        }
+        while (forcedHigh != 0 && filled < count) {
+            swap(filled++, positions[Long.numberOfTrailingZeros(forcedHigh) + NumberMask.LOW_WORD_BITS + 1]);
+            forcedHigh &= forcedHigh - 1;
+        }
+
+        long state = drawSeed;
+        for (int i = filled; i < count; i++) {
+            state += GOLDEN_GAMMA;
+            swap(i, i + bounded(mix(state), NumberMask.MAX_NUMBER - i));
+        }
+
+        long low = 0L;
+        long high = 0L;
+        for (int i = 0; i < count; i++) {
+            low |= NumberMask.lowBit(pool[i]);
+            high |= NumberMask.highBit(pool[i]);
+        }
+        this.count = count;
+        this.seed = drawSeed;
+        this.lowMask = low;
+        this.highMask = high;
+    }
+
+    /**
+     * Swap two pool slots and keep the position index in sync.
+     * @param i - first slot
+     * @param j - second slot
+     */
+    private void swap(int i, int j) {
+        int a = pool[i];
+        int b = pool[j];
+        pool[i] = b;
+        pool[j] = a;
+        positions[b] = i;
+        positions[a] = j;
+    }
+
+    /**
+     * SplitMix64 finalizer, turning a sequence state into a random 64-bit value.
+     * @param z - the state to mix
+     * @return mixed value
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Map a random 64-bit value onto [0, bound) with the high half of an
+     * unsigned 64x64 multiply; the bias is at most bound / 2^64.
+     * @param random - random 64-bit value
+     * @param bound - exclusive upper bound, positive
+     * @return value in [0, bound)
+     */
+    private static int bounded(long random, int bound) {
+        return (int) (Math.multiplyHigh(random, bound) + ((random >> 63) & bound));
+    }
+
+    // Getters for the last draw
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getLowMask() {
+        return lowMask;
+    }
+
+    public long getHighMask() {
+        return highMask;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get a drawn number in draw order.
+     * @param index - index between 0 and getCount() - 1
+     * @return the drawn number
+     */
+    public int getNumber(int index) {
+        return pool[index];
+    }
+
+    /**
+     * Copy the last draw into a list, in draw order.
+     * @return list of drawn numbers
+     */
+    public List<Integer> getNumbers() {
+        List<Integer> numbers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            numbers.add(pool[i]);
+        }
+        return numbers;
+    }
+}
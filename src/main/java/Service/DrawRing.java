@@ -0,0 +1,309 @@
+package Service;
+
+import Model.NumberMask;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * DrawRing publishes completed draws to any number of subscribers through a
+ * preallocated, single-writer ring of primitive columns. Publishing never
+ * allocates and no side takes a lock; each subscriber reads the draws in
+ * place through a reusable view, at its own pace.
+ * What happens when the slowest subscriber is a full ring behind is set by
+ * the ring's Policy.
+ */
+public class DrawRing {
+    /**
+     * Enumeration of policies for a full ring
+     */
+    public enum Policy {
+        BLOCK,        // the writer waits until the slowest subscriber frees a slot
+        DROP_NEWEST,  // the writer discards the new draw and publish returns false
+        OVERWRITE     // the writer never waits; lapped subscribers skip the lost draws
+    }
+
+    /**
+     * Receives draws from a subscriber's poll.
+     */
+    public interface DrawHandler {
+        /**
+         * Called for each draw in sequence order.
+         * @param draw - view of the draw, only valid during the call
+         */
+        void onDraw(DrawView draw);
+    }
+
+    private static final VarHandle STAMPS = MethodHandles.arrayElementVarHandle(long[].class);
+    // Stamp of a slot that is empty or being written
+    private static final long NO_DRAW = -1L;
+    // Pause of a blocked writer between checks of the subscribers
+    private static final long BLOCK_PARK_NANOS = 50_000L;
+    private static final Subscriber[] NO_SUBSCRIBERS = new Subscriber[0];
+
+    private final Policy policy;
+    private final int mask;
+    private final int[] rounds;
+    private final long[] seeds;
+    private final long[] lowMasks;
+    private final long[] highMasks;
+    private final long[] timestamps;
+    // stamps[slot] is the sequence number held by the slot
+    private final long[] stamps;
+    // Sequence number of the next draw; draws below it are published
+    private final AtomicLong published = new AtomicLong();
+    private volatile Subscriber[] subscribers = NO_SUBSCRIBERS;
+    // Writer-only cache of the slowest subscriber's position
+    private long gatingPosition;
+    private volatile long droppedCount;
+
+    // Constructor, capacity is rounded up to a power of two
+    public DrawRing(int capacity, Policy policy) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid draw ring capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.policy = policy;
+        this.mask = size - 1;
+        this.rounds = new int[size];
+        this.seeds = new long[size];
+        this.lowMasks = new long[size];
+        this.highMasks = new long[size];
+        this.timestamps = new long[size];
+        this.stamps = new long[size];
+        Arrays.fill(stamps, NO_DRAW);
+    }
+
+    /**
+     * Publish a completed draw. Must only be called by the single writer thread.
+     * @param round - round of the draw
+     * @param seed - seed of the draw
+     * @param lowMask - low word of the drawn numbers
+     * @param highMask - high word of the drawn numbers
+     * @param timestamp - time of the draw in epoch milliseconds
+     * @return True if the draw was published, false if it was dropped.
+     */
+    public boolean publish(int round, long seed, long lowMask, long highMask, long timestamp) {
+        long sequence = published.get();
+        if (policy != Policy.OVERWRITE && sequence - gatingPosition > mask) {
+            gatingPosition = slowestPosition(sequence);
+            while (sequence - gatingPosition > mask) {
+                if (policy == Policy.DROP_NEWEST) {
+                    droppedCount++;
+                    return false;
+                }
+                LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                gatingPosition = slowestPosition(sequence);
+            }
+        }
+        int slot = (int) sequence & mask;
+        // Invalidate the slot before its fields change
+        STAMPS.setOpaque(stamps, slot, NO_DRAW);
+        VarHandle.storeStoreFence();
+        rounds[slot] = round;
+        seeds[slot] = seed;
+        lowMasks[slot] = lowMask;
+        highMasks[slot] = highMask;
+        timestamps[slot] = timestamp;
+        // Release the slot's writes before its stamp and the new sequence become visible
+        STAMPS.setRelease(stamps, slot, sequence);
+        published.lazySet(sequence + 1);
+        return true;
+    }
+
+    /**
+     * Find the position of the slowest subscriber.
+     * @param sequence - the writer's next sequence, used when nobody subscribes
+     * @return lowest next-to-read sequence of all subscribers
+     */
+    private long slowestPosition(long sequence) {
+        long slowest = sequence;
+        for (Subscriber subscriber : subscribers) {
+            slowest = Math.min(slowest, subscriber.position.get());
+        }
+        return slowest;
+    }
+
+    /**
+     * Add a subscriber that receives the draws published from now on.
+     * @return the new subscriber
+     */
+    public synchronized Subscriber subscribe() {
+        Subscriber subscriber = new Subscriber(published.get());
+        Subscriber[] current = subscribers;
+        Subscriber[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = subscriber;
+        subscribers = next;
+        return subscriber;
+    }
+
+    /**
+     * Remove a subscriber so it no longer holds back the writer.
+     * @param subscriber - the subscriber to remove
+     */
+    synchronized void unsubscribe(Subscriber subscriber) {
+        Subscriber[] current = subscribers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == subscriber) {
+                Subscriber[] next = new Subscriber[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                subscribers = next;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the sequence number the next draw will have.
+     * @return number of draws ever published
+     */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * Get the number of draws the writer discarded under DROP_NEWEST.
+     * @return dropped draw count
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * One reader of the ring. A subscriber must be polled by one thread at a time.
+     */
+    public final class Subscriber {
+        // Next sequence to read; read by the writer to gate a full ring
+        private final AtomicLong position;
+        private final DrawView view = new DrawView();
+        private long lostCount;
+
+        private Subscriber(long start) {
+            this.position = new AtomicLong(start);
+        }
+
+        /**
+         * Hand the published draws this subscriber has not read yet to a handler.
+         * @param handler - receives each draw in order
+         * @param limit - most draws to handle in this call
+         * @return number of draws handled
+         */
+        public int poll(DrawHandler handler, int limit) {
+            long available = published.get();
+            long next = position.get();
+            int handled = 0;
+            while (next < available && handled < limit) {
+                int slot = (int) next & mask;
+                if ((long) STAMPS.getAcquire(stamps, slot) != next) {
+                    // Lapped by an OVERWRITE writer, resume at the oldest draw still held
+                    long oldest = Math.max(next + 1, published.get() - capacity());
+                    lostCount += oldest - next;
+                    next = oldest;
+                    available = published.get();
+                    continue;
+                }
+                view.sequence = next;
+                view.slot = slot;
+                handler.onDraw(view);
+                handled++;
+                next++;
+                position.lazySet(next);
+            }
+            position.lazySet(next);
+            return handled;
+        }
+
+        /**
+         * Get the number of published draws not read yet.
+         * @return backlog of this subscriber
+         */
+        public long getBacklog() {
+            return published.get() - position.get();
+        }
+
+        /**
+         * Get the number of draws this subscriber missed because the writer lapped it.
+         * @return lost draw count, only ever non-zero under OVERWRITE
+         */
+        public long getLostCount() {
+            return lostCount;
+        }
+
+        /**
+         * Stop reading, so this subscriber no longer holds back the writer.
+         */
+        public void close() {
+            unsubscribe(this);
+        }
+    }
+
+    /**
+     * Zero-copy view of one draw in the ring. Under OVERWRITE the writer may
+     * reuse the slot while the view is read, so a handler that keeps values
+     * should check isValid() after reading them.
+     */
+    public final class DrawView {
+        private long sequence;
+        private int slot;
+
+        private DrawView() {
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public int getRound() {
+            return rounds[slot];
+        }
+
+        public long getSeed() {
+            return seeds[slot];
+        }
+
+        public long getLowMask() {
+            return lowMasks[slot];
+        }
+
+        public long getHighMask() {
+            return highMasks[slot];
+        }
+
+        public long getTimestamp() {
+            return timestamps[slot];
+        }
+
+        /**
+         * Get the drawn numbers in ascending order.
+         * @return list of the drawn numbers
+         */
+        public List<Integer> getNumbers() {
+            return NumberMask.toList(getLowMask(), getHighMask());
+        }
+
+        /**
+         * Check that the slot still holds this draw.
+         * @return True if nothing read so far was overwritten, false otherwise.
+         */
+        public boolean isValid() {
+            VarHandle.loadLoadFence();
+            return (long) STAMPS.getOpaque(stamps, slot) == sequence;
+        }
+    }
+}
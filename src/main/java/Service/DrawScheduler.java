@@ -0,0 +1,167 @@
+package Service;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * DrawScheduler replays a recorded DrawScript on one reusable AnimationTimer.
+ * Every pulse advances a scripted clock by the frame time times the speed and
+ * runs each step whose scripted time has passed, so a late frame catches up
+ * instead of drifting and nothing is allocated per number or per round.
+ */
+public class DrawScheduler {
+    // Scripted delays, in nanoseconds at normal speed
+    private static final long NUMBER_INTERVAL_NANOS = 200_000_000L;
+    private static final long SETTLE_DELAY_NANOS = 300_000_000L;
+    private static final long RESULT_DELAY_NANOS = 1_000_000_000L;
+
+    /**
+     * Enumeration of replay speeds
+     */
+    public enum Speed {
+        NORMAL("1x", 1),
+        FAST("4x", 4),
+        INSTANT("Instant", 0);
+
+        private final String displayName;
+        private final int multiplier;
+
+        Speed(String displayName, int multiplier) {
+            this.displayName = displayName;
+            this.multiplier = multiplier;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        /**
+         * Get the next speed, wrapping around after the last one.
+         * @return the next speed
+         */
+        public Speed next() {
+            return values()[(ordinal() + 1) % values().length];
+        }
+    }
+
+    /**
+     * Receives the steps of a replay on the JavaFX application thread.
+     */
+    public interface StepHandler {
+        void onNumberRevealed(int index);
+
+        void onNumbersComplete();
+
+        void onResultDue();
+    }
+
+    private final AnimationTimer timer;
+    private DrawScript script;
+    private StepHandler handler;
+    private Speed speed = Speed.NORMAL;
+    private long scriptedNanos;
+    private long lastPulse;
+    private int revealed;
+    private boolean settled;
+    private boolean running;
+
+    // Constructor
+    public DrawScheduler() {
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                pulse(now);
+            }
+        };
+    }
+
+    /**
+     * Start replaying a recorded round.
+     * @param script - the recorded round
+     * @param handler - receives each step of the replay
+     */
+    public void play(DrawScript script, StepHandler handler) {
+        this.script = script;
+        this.handler = handler;
+        this.scriptedNanos = 0L;
+        this.lastPulse = -1L;
+        this.revealed = 0;
+        this.settled = false;
+        this.running = true;
+        timer.start();
+    }
+
+    /**
+     * Jump to the end of the draw: reveal every remaining number and settle now.
+     * Once settled, skipping again shows the result without waiting.
+     */
+    public void skipAhead() {
+        if (!running) {
+            return;
+        }
+        long target = settled ? settleTime() + RESULT_DELAY_NANOS : settleTime();
+        scriptedNanos = Math.max(scriptedNanos, target);
+        advance();
+    }
+
+    /**
+     * Stop the replay without running the remaining steps.
+     */
+    public void stop() {
+        running = false;
+        timer.stop();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public Speed getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(Speed speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * Advance the scripted clock by the time since the last pulse.
+     * @param now - pulse timestamp in nanoseconds
+     */
+    private void pulse(long now) {
+        if (lastPulse < 0) {
+            lastPulse = now;
+        }
+        if (speed == Speed.INSTANT) {
+            scriptedNanos = settleTime() + RESULT_DELAY_NANOS;
+        } else {
+            scriptedNanos += (now - lastPulse) * speed.multiplier;
+        }
+        lastPulse = now;
+        advance();
+    }
+
+    /**
+     * Run every step due at the current scripted time, in order.
+     */
+    private void advance() {
+        while (running && revealed < script.size() && revealed * NUMBER_INTERVAL_NANOS <= scriptedNanos) {
+            handler.onNumberRevealed(revealed++);
+        }
+        if (running && !settled && scriptedNanos >= settleTime()) {
+            settled = true;
+            handler.onNumbersComplete();
+        }
+        if (running && settled && scriptedNanos >= settleTime() + RESULT_DELAY_NANOS) {
+            stop();
+            handler.onResultDue();
+        }
+    }
+
+    /**
+     * Get the scripted time at which the round is settled.
+     * @return nanoseconds after the first number
+     */
+    private long settleTime() {
+        return script.size() * NUMBER_INTERVAL_NANOS + SETTLE_DELAY_NANOS;
+    }
+}
@@ -0,0 +1,97 @@
+package Service;
+
+import Model.NumberMask;
+
+import java.util.List;
+
+/**
+ * DrawScript records the events of the last round played by a RoundEngine,
+ * so a view can replay the round after the engine has already settled it.
+ * The arrays are reused from round to round.
+ */
+public class DrawScript implements RoundListener {
+    private final int[] numbers = new int[DrawGenerator.DRAW_SIZE];
+    private final boolean[] matched = new boolean[DrawGenerator.DRAW_SIZE];
+    private final int[] matchesSoFar = new int[DrawGenerator.DRAW_SIZE];
+    private int size;
+    private int round;
+    private int totalRounds;
+    private long seed;
+    private int matches;
+    private int prize;
+    private long matchedLow;
+    private long matchedHigh;
+
+    @Override
+    public void onRoundStarted(int round, int totalRounds, long seed) {
+        this.round = round;
+        this.totalRounds = totalRounds;
+        this.seed = seed;
+        this.size = 0;
+        this.matches = 0;
+        this.prize = 0;
+        this.matchedLow = 0L;
+        this.matchedHigh = 0L;
+    }
+
+    @Override
+    public void onNumberDrawn(int round, int number, boolean matched, int matchesSoFar) {
+        this.numbers[size] = number;
+        this.matched[size] = matched;
+        this.matchesSoFar[size] = matchesSoFar;
+        size++;
+    }
+
+    @Override
+    public void onRoundSettled(int round, int matches, int prize, long matchedLow, long matchedHigh) {
+        this.matches = matches;
+        this.prize = prize;
+        this.matchedLow = matchedLow;
+        this.matchedHigh = matchedHigh;
+    }
+
+    // Getters for the recorded round
+    public int size() {
+        return size;
+    }
+
+    public int getNumber(int index) {
+        return numbers[index];
+    }
+
+    public boolean isMatched(int index) {
+        return matched[index];
+    }
+
+    public int getMatchesSoFar(int index) {
+        return matchesSoFar[index];
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public int getTotalRounds() {
+        return totalRounds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getMatches() {
+        return matches;
+    }
+
+    public int getPrize() {
+        return prize;
+    }
+
+    /**
+     * Get the matched numbers of the round in ascending order.
+     * @return list of matched numbers
+     */
+    public List<Integer> getMatchedNumbers() {
+        return NumberMask.toList(matchedLow, matchedHigh);
+    }
+}
@@ -0,0 +1,336 @@
+package Service;
+
+import Model.NumberMask;
+import Model.OddsCalculator;
+import Model.PrizeTable;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ExposureTracker keeps the operator's exposure to the tickets sold for the
+ * next draw: the expected payout, its variance and the worst-case payout,
+ * and refuses tickets that would raise the worst case above a cap.
+ *
+ * Accepting a ticket only adds to a few aggregated counters: the stake and
+ * squared stake per spot count, which the exact hypergeometric moments of
+ * OddsCalculator turn into the expected payout and variance, and a
+ * liability per number. The variance treats tickets as independent; tickets
+ * on the same draw that share numbers are correlated, so it understates the
+ * spread of a book concentrated on a few numbers.
+ *
+ * The worst case is bounded two ways, and the smaller bound is used:
+ * every ticket hitting its top prize at once, or the 20 numbers with the
+ * highest liability all being drawn. A ticket paying prize p at h hits owes
+ * at most ceil(p / h) on each of its hit numbers, so a number's liability is
+ * the sum of those shares over the tickets that picked it; prizes paid for
+ * 0 hits are added on top. Both bounds are safe; neither needs a rescan.
+ * The 20 numbers with the highest liability are kept as a set with a running
+ * sum, updated as each ticket is accepted, so checking and accepting a
+ * ticket costs a few passes over that set and never a sort of all numbers.
+ * All methods are synchronized, so one tracker can guard many sellers.
+ */
+public class ExposureTracker {
+    // A cap no book can reach
+    public static final long NO_CAP = Long.MAX_VALUE;
+
+    private static final int DRAW_SIZE = OddsCalculator.DRAW_SIZE;
+    // Highest prize of a $1 ticket per spot count
+    private static final long[] TOP_PRIZES = new long[PrizeTable.MAX_SPOTS + 1];
+    // Largest prize per hit number of a $1 ticket per spot count, rounded up
+    private static final long[] NUMBER_SHARES = new long[PrizeTable.MAX_SPOTS + 1];
+    // Prize of a $1 ticket for 0 hits per spot count
+    private static final long[] ZERO_HIT_PRIZES = new long[PrizeTable.MAX_SPOTS + 1];
+
+    static {
+        for (int spots = 0; spots <= PrizeTable.MAX_SPOTS; spots++) {
+            ZERO_HIT_PRIZES[spots] = PrizeTable.getPrizeForHits(spots, 0);
+            TOP_PRIZES[spots] = ZERO_HIT_PRIZES[spots];
+            for (int hits = 1; hits <= spots; hits++) {
+                int prize = PrizeTable.getPrizeForHits(spots, hits);
+                TOP_PRIZES[spots] = Math.max(TOP_PRIZES[spots], prize);
+                NUMBER_SHARES[spots] = Math.max(NUMBER_SHARES[spots], (prize + hits - 1) / hits);
+            }
+        }
+    }
+
+    private final long liabilityCap;
+    private final long[] stakesBySpots = new long[PrizeTable.MAX_SPOTS + 1];
+    private final long[] squaredStakesBySpots = new long[PrizeTable.MAX_SPOTS + 1];
+    private final long[] ticketsByNumber = new long[NumberMask.MAX_NUMBER + 1];
+    private final long[] liabilityByNumber = new long[NumberMask.MAX_NUMBER + 1];
+    // The DRAW_SIZE numbers with the highest liability, none lower than any number outside
+    private final int[] topNumbers = new int[DRAW_SIZE];
+    private final boolean[] inTop = new boolean[NumberMask.MAX_NUMBER + 1];
+    private long topLiability;
+    // Liabilities a ticket would give the set, scratch for checking it
+    private final long[] candidates = new long[DRAW_SIZE + PrizeTable.MAX_SPOTS];
+    private long ticketCount;
+    private long topPrizeLiability;
+    private long zeroHitLiability;
+    private long rejectedCount;
+
+    // Constructor without a cap
+    public ExposureTracker() {
+        this(NO_CAP);
+    }
+
+    // Constructor with the highest worst-case payout to accept
+    public ExposureTracker(long liabilityCap) {
+        if (liabilityCap < 0) {
+            throw new IllegalArgumentException("Invalid liability cap: " + liabilityCap);
+        }
+        this.liabilityCap = liabilityCap;
+        resetTopNumbers();
+    }
+
+    /**
+     * Accept a ticket unless it would raise the worst-case payout above the cap.
+     * @param lowMask - low word of the picked numbers
+     * @param highMask - high word of the picked numbers
+     * @param stake - stake of the ticket, above 0
+     * @return True if the ticket was accepted, false if it was refused.
+     * @throws IllegalArgumentException if the ticket is invalid
+     */
+    public synchronized boolean tryAccept(long lowMask, long highMask, int stake) {
+        int spots = NumberMask.size(lowMask, highMask);
+        if (spots == 0 || spots > PrizeTable.MAX_SPOTS || !NumberMask.isValidHighWord(highMask)) {
+            throw new IllegalArgumentException("Invalid ticket mask with " + spots + " picks");
+        }
+        if (stake < 1) {
+            throw new IllegalArgumentException("Invalid stake: " + stake);
+        }
+        long share = stake * NUMBER_SHARES[spots];
+        // The top-prize bound is cheap; only bound the numbers when it is over the cap
+        if (topPrizeLiability + stake * TOP_PRIZES[spots] > liabilityCap
+                && zeroHitLiability + stake * ZERO_HIT_PRIZES[spots] + topLiabilityWith(lowMask, highMask, share) > liabilityCap) {
+            rejectedCount++;
+            return false;
+        }
+        topPrizeLiability += stake * TOP_PRIZES[spots];
+        zeroHitLiability += stake * ZERO_HIT_PRIZES[spots];
+        addNumbers(lowMask, highMask, share);
+        stakesBySpots[spots] += stake;
+        squaredStakesBySpots[spots] += (long) stake * stake;
+        ticketCount++;
+        return true;
+    }
+
+    /**
+     * Accept a ticket given as a list of numbers.
+     * @param numbers - picked numbers between 1 and 80
+     * @param stake - stake of the ticket
+     * @return True if the ticket was accepted, false if it was refused.
+     */
+    public boolean tryAccept(List<Integer> numbers, int stake) {
+        return tryAccept(NumberMask.lowWord(numbers), NumberMask.highWord(numbers), stake);
+    }
+
+    /**
+     * Add a ticket's share to its numbers and move the numbers that now
+     * outrank the lowest of the top set into it.
+     * @param lowMask - low word of the picked numbers
+     * @param highMask - high word of the picked numbers
+     * @param share - liability the ticket adds to each of its numbers
+     */
+    private void addNumbers(long lowMask, long highMask, long share) {
+        for (long low = lowMask; low != 0; low &= low - 1) {
+            addNumber(Long.numberOfTrailingZeros(low) + 1, share);
+        }
+        for (long high = highMask; high != 0; high &= high - 1) {
+            addNumber(Long.numberOfTrailingZeros(high) + 1 + NumberMask.LOW_WORD_BITS, share);
+        }
+    }
+
+    private void addNumber(int number, long share) {
+        liabilityByNumber[number] += share;
+        ticketsByNumber[number]++;
+        if (inTop[number]) {
+            topLiability += share;
+            return;
+        }
+        int lowest = lowestTopSlot();
+        int evicted = topNumbers[lowest];
+        if (liabilityByNumber[number] > liabilityByNumber[evicted]) {
+            topNumbers[lowest] = number;
+            inTop[evicted] = false;
+            inTop[number] = true;
+            topLiability += liabilityByNumber[number] - liabilityByNumber[evicted];
+        }
+    }
+
+    /**
+     * Find the slot of the top set holding the lowest liability.
+     * @return index into topNumbers
+     */
+    private int lowestTopSlot() {
+        int lowest = 0;
+        for (int i = 1; i < DRAW_SIZE; i++) {
+            if (liabilityByNumber[topNumbers[i]] < liabilityByNumber[topNumbers[lowest]]) {
+                lowest = i;
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * Get the summed liability of the top set as it would be with a ticket
+     * added, without adding it. Numbers outside the set rank no higher than
+     * its lowest member, so only the set and the ticket's own numbers can
+     * make up the new top: the ticket's k numbers outside the set enter and
+     * the k lowest of the combined values drop out.
+     * @param lowMask - low word of the picked numbers
+     * @param highMask - high word of the picked numbers
+     * @param share - liability the ticket adds to each of its numbers
+     * @return the top set's liability with the ticket
+     */
+    private long topLiabilityWith(long lowMask, long highMask, long share) {
+        int count = 0;
+        long sum = 0;
+        for (int number : topNumbers) {
+            long liability = liabilityByNumber[number] + (NumberMask.contains(lowMask, highMask, number) ? share : 0);
+            candidates[count++] = liability;
+            sum += liability;
+        }
+        for (long low = lowMask; low != 0; low &= low - 1) {
+            int number = Long.numberOfTrailingZeros(low) + 1;
+            if (!inTop[number]) {
+                candidates[count++] = liabilityByNumber[number] + share;
+                sum += liabilityByNumber[number] + share;
+            }
+        }
+        for (long high = highMask; high != 0; high &= high - 1) {
+            int number = Long.numberOfTrailingZeros(high) + 1 + NumberMask.LOW_WORD_BITS;
+            if (!inTop[number]) {
+                candidates[count++] = liabilityByNumber[number] + share;
+                sum += liabilityByNumber[number] + share;
+            }
+        }
+        // Drop the lowest candidates until DRAW_SIZE are left
+        for (int size = count; size > DRAW_SIZE; size--) {
+            int lowest = 0;
+            for (int i = 1; i < size; i++) {
+                if (candidates[i] < candidates[lowest]) {
+                    lowest = i;
+                }
+            }
+            sum -= candidates[lowest];
+            candidates[lowest] = candidates[size - 1];
+        }
+        return sum;
+    }
+
+    private void resetTopNumbers() {
+        Arrays.fill(inTop, false);
+        for (int i = 0; i < DRAW_SIZE; i++) {
+            topNumbers[i] = i + 1;
+            inTop[i + 1] = true;
+        }
+        topLiability = 0;
+    }
+
+    /**
+     * Bound the worst case by the 20 numbers with the highest liability.
+     * @return the bound
+     */
+    private long getNumberBound() {
+        return zeroHitLiability + topLiability;
+    }
+
+    /**
+     * Forget every ticket, for the next draw. The cap is kept.
+     */
+    public synchronized void clear() {
+        Arrays.fill(stakesBySpots, 0L);
+        Arrays.fill(squaredStakesBySpots, 0L);
+        Arrays.fill(ticketsByNumber, 0L);
+        Arrays.fill(liabilityByNumber, 0L);
+        resetTopNumbers();
+        ticketCount = 0;
+        topPrizeLiability = 0;
+        zeroHitLiability = 0;
+        rejectedCount = 0;
+    }
+
+    /**
+     * Get the exact expected payout of the accepted tickets.
+     * @return expected payout
+     */
+    public synchronized BigDecimal getExpectedPayoutExact() {
+        BigDecimal expected = BigDecimal.ZERO;
+        for (int spots = 1; spots <= PrizeTable.MAX_SPOTS; spots++) {
+            if (stakesBySpots[spots] != 0) {
+                expected = expected.add(OddsCalculator.getExpectedPayoutExact(spots).multiply(BigDecimal.valueOf(stakesBySpots[spots])));
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * Get the expected payout of the accepted tickets.
+     * @return expected payout as a double
+     */
+    public double getExpectedPayout() {
+        return getExpectedPayoutExact().doubleValue();
+    }
+
+    /**
+     * Get the variance of the payout, treating the tickets as independent.
+     * @return payout variance
+     */
+    public synchronized double getPayoutVariance() {
+        double variance = 0.0;
+        for (int spots = 1; spots <= PrizeTable.MAX_SPOTS; spots++) {
+            variance += squaredStakesBySpots[spots] * OddsCalculator.getPayoutVariance(spots);
+        }
+        return variance;
+    }
+
+    /**
+     * Get the bound on the payout of the worst possible draw.
+     * @return maximum liability
+     */
+    public synchronized long getMaxLiability() {
+        return Math.min(topPrizeLiability, getNumberBound());
+    }
+
+    /**
+     * Get the liability on one number: the most its being drawn can add to the payout.
+     * @param number - number between 1 and 80
+     * @return liability of the number
+     */
+    public synchronized long getNumberLiability(int number) {
+        checkNumber(number);
+        return liabilityByNumber[number];
+    }
+
+    /**
+     * Get the number of accepted tickets that picked a number.
+     * @param number - number between 1 and 80
+     * @return ticket count of the number
+     */
+    public synchronized long getNumberTicketCount(int number) {
+        checkNumber(number);
+        return ticketsByNumber[number];
+    }
+
+    private static void checkNumber(int number) {
+        if (number < 1 || number > NumberMask.MAX_NUMBER) {
+            throw new IllegalArgumentException("Invalid number: " + number);
+        }
+    }
+
+    // Getters
+    public synchronized long getTicketCount() {
+        return ticketCount;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getLiabilityCap() {
+        return liabilityCap;
+    }
+}
@@ -2,10 +2,13 @@ package Service;
 
 import Model.GameHistory;
 import Model.GameState;
+import Model.NumberMask;
+import Model.SettlementResult;
+import Model.TicketBatch;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  * GameService class to manage game logic and state.
@@ -13,13 +16,26 @@ import java.util.Random;
 public class GameService {
 
     private GameState gameState;
-    private Random rand;
-    private static final int RANDOM_SYSTEM_SELECTION_COUNT = 20;
+    private DrawGenerator drawGenerator;
+    // Quick picks draw here, so they never replace the last system draw
+    private DrawGenerator pickGenerator;
+    private SettlementService settlementService;
+    private HistoryJournal historyJournal;
+    private static final int RANDOM_SYSTEM_SELECTION_COUNT = DrawGenerator.DRAW_SIZE;
+    // Most recent games shown in the history text when a journal is attached
+    private static final int HISTORY_TAIL_SIZE = 100;
 
     // Constructor to initialize GameService with GameState
     public GameService(GameState gameState) {
+        this(gameState, new SplittableRandomSource());
+    }
+
+    // Constructor to initialize GameService with GameState and a custom random source
+    public GameService(GameState gameState, RandomSource randomSource) {
         this.gameState = gameState;
-        this.rand = new Random();
+        this.drawGenerator = new DrawGenerator(randomSource);
+        this.pickGenerator = new DrawGenerator(randomSource);
+        this.settlementService = new SettlementService();
     }
 
     /**
@@ -77,50 +93,137 @@ public class GameService {
 
     /**
      * Randomly select numbers for the user.
+     * The last system draw and its seed are left untouched.
      */
     public void randomSelectNumbersForUser() {
-        List<Integer> selected = new ArrayList<>();
-        while (selected.size() < getMaxSelections()) {
-            int num = rand.nextInt(80) + 1; // Random number between 1 and 80
-            if (!selected.contains(num)) {
-                selected.add(num);
-            }
-        }
-        gameState.setSelectedNumbers(selected);
+        pickGenerator.draw(getMaxSelections(), 0L, 0L);
+        gameState.setSelectedNumbers(pickGenerator.getNumbers());
     }
 
     /**
      * Randomly select numbers for the system.
+     * The seed of the draw is kept and can be read with getLastDrawSeed().
      * @return List of randomly selected numbers for the system.
      */
     public List<Integer> randomSelectNumbersForSystem() {
+        drawForRound();
+        return drawGenerator.getNumbers();
+    }
+
+    /**
+     * Draw the system numbers for a round without building a list.
+     * The result is read with getLastDrawLowMask() and getLastDrawHighMask().
+     * @return seed of the draw
+     */
+    public long drawForRound() {
         // If cheat mode is on, include user's selected numbers
-        List<Integer> systemSelectedNumbers = gameState.isCheatMode() ? new ArrayList<>(gameState.getSelectedNumbers()) : new ArrayList<>();
-        // Fill the rest with random numbers
-        while (systemSelectedNumbers.size() < RANDOM_SYSTEM_SELECTION_COUNT) {
-            int num = rand.nextInt(80) + 1;
-            if (!systemSelectedNumbers.contains(num)) {
-                systemSelectedNumbers.add(num);
-            }
+        long forcedLow = 0L;
+        long forcedHigh = 0L;
+        if (gameState.isCheatMode()) {
+            forcedLow = NumberMask.lowWord(gameState.getSelectedNumbers());
+            forcedHigh = NumberMask.highWord(gameState.getSelectedNumbers());
         }
-        return systemSelectedNumbers;
+        // Fill the rest with a seeded partial shuffle
+        return drawGenerator.draw(RANDOM_SYSTEM_SELECTION_COUNT, forcedLow, forcedHigh);
+    }
+
+    /**
+     * Draw the system numbers for a shared table round. Table draws are never
+     * forced by cheat mode, since no single player's picks apply to them.
+     * The result is read with getLastDrawLowMask() and getLastDrawHighMask().
+     * @return seed of the draw
+     */
+    public long drawForTable() {
+        return drawGenerator.draw(RANDOM_SYSTEM_SELECTION_COUNT, 0L, 0L);
+    }
+
+    public long getLastDrawLowMask() {
+        return drawGenerator.getLowMask();
+    }
+
+    public long getLastDrawHighMask() {
+        return drawGenerator.getHighMask();
+    }
+
+    /**
+     * Get the low word of the user's selections.
+     * @return low word of the selected numbers mask
+     */
+    public long getSelectedLowMask() {
+        return NumberMask.lowWord(gameState.getSelectedNumbers());
+    }
+
+    /**
+     * Get the high word of the user's selections.
+     * @return high word of the selected numbers mask
+     */
+    public long getSelectedHighMask() {
+        return NumberMask.highWord(gameState.getSelectedNumbers());
+    }
+
+    /**
+     * Get the seed of the last system draw, for audits and replays.
+     * @return seed of the last draw
+     */
+    public long getLastDrawSeed() {
+        return drawGenerator.getSeed();
+    }
+
+    /**
+     * Replay a system draw from its recorded seed.
+     * Cheat mode draws also need the forced numbers, so only regular draws are replayed here.
+     * @param seed - the recorded seed
+     * @return List of the numbers drawn with that seed
+     */
+    public List<Integer> replaySystemDraw(long seed) {
+        drawGenerator.replay(seed);
+        return drawGenerator.getNumbers();
     }
 
     /**
      * Get the list of matched numbers between user's selections and system's selections.
+     * Thin adapter over the bitmask engine, kept for list-based callers.
      * @param systemNumbers - The system's selected numbers.
      * @return List of matched numbers.
      */
     public List<Integer> getMatchedNumbers(List<Integer> systemNumbers) {
+        List<Integer> selectedNumbers = gameState.getSelectedNumbers();
+        long pickLow = NumberMask.lowWord(selectedNumbers);
+        long pickHigh = NumberMask.highWord(selectedNumbers);
         List<Integer> matchedNumbers = new ArrayList<>();
         for (Integer num : systemNumbers) {
-            if (gameState.getSelectedNumbers().contains(num)) {
+            if (NumberMask.contains(pickLow, pickHigh, num)) {
                 matchedNumbers.add(num);
             }
         }
         return matchedNumbers;
     }
 
+    /**
+     * Count the matches between user's selections and a drawn mask.
+     * @param drawLow - low word of the drawn numbers
+     * @param drawHigh - high word of the drawn numbers
+     * @return number of matched numbers
+     */
+    public int countMatches(long drawLow, long drawHigh) {
+        List<Integer> selectedNumbers = gameState.getSelectedNumbers();
+        return NumberMask.matchCount(NumberMask.lowWord(selectedNumbers), NumberMask.highWord(selectedNumbers), drawLow, drawHigh);
+    }
+
+    /**
+     * Settle a batch of player tickets against one draw.
+     * @param draw - the 20 drawn numbers
+     * @param tickets - the tickets to settle
+     * @return match counts and payouts indexed like the batch
+     */
+    public SettlementResult settleBatch(List<Integer> draw, TicketBatch tickets) {
+        return settlementService.settleBatch(draw, tickets);
+    }
+
+    public SettlementService getSettlementService() {
+        return settlementService;
+    }
+
     /**
      * Calculate the prize based on the number of matches.
      * @param matches - The number of matched numbers.
@@ -139,8 +242,53 @@ public class GameService {
         return Model.PrizeTable.isValidPrize(getMaxSelections(), matches);
     }
 
+    /**
+     * Attach a persistent journal that receives every finished game.
+     * @param historyJournal - the journal, or null to keep history in memory only
+     */
+    public void setHistoryJournal(HistoryJournal historyJournal) {
+        this.historyJournal = historyJournal;
+    }
+
+    public HistoryJournal getHistoryJournal() {
+        return historyJournal;
+    }
+
+    /**
+     * Record a finished game in the game state and, if attached, the journal.
+     * @param history - the game summary
+     */
+    public void recordGameHistory(GameHistory history) {
+        gameState.addGameHistory(history);
+        if (historyJournal == null) {
+            return;
+        }
+        try {
+            historyJournal.append(history, getMaxSelections());
+        } catch (IOException e) {
+            System.err.println("Error writing game history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the number of recorded games, including those from earlier sessions when journaled.
+     * @return number of recorded games
+     */
+    public long getHistoryCount() {
+        return historyJournal != null ? historyJournal.size() : gameState.getGameHistories().size();
+    }
+
+    /**
+     * Get a random-access view of the recorded games for paged viewers.
+     * @return source backed by the journal when attached, else by the in-memory list
+     */
+    public HistorySource getHistorySource() {
+        return historyJournal != null ? HistorySource.of(historyJournal) : HistorySource.of(gameState.getGameHistories());
+    }
+
     /**
      * Generate a textual representation of the game history.
+     * With a journal attached only the most recent games are read, from the tail of the file.
      * @return String representation of game history.
      */
     public String generateHistoryText() {
@@ -148,9 +296,18 @@ public class GameService {
         sb.append(String.format("%-10s %-15s %-15s %-15s\n", "ID","Total Rounds", "Total Matches", "Total Winnings"));
         sb.append("-----------------------------------------------------\n");
         List<GameHistory> gameHistories = gameState.getGameHistories();
+        long firstId = 1;
+        if (historyJournal != null) {
+            try {
+                gameHistories = historyJournal.readTail(HISTORY_TAIL_SIZE);
+                firstId = historyJournal.size() - gameHistories.size() + 1;
+            } catch (IOException e) {
+                System.err.println("Error reading game history: " + e.getMessage());
+            }
+        }
         for (int i = 0; i < gameHistories.size(); i++) {
             GameHistory history = gameHistories.get(i);
-            sb.append(String.format("%-25d %-25d %-30d $%-14d\n", i + 1, history.getTotalRounds(), history.getTotalMatchedCount(), history.getTotalPrize()));
+            sb.append(String.format("%-10d %-15d %-15d $%-14d\n", firstId + i, history.getTotalRounds(), history.getTotalMatchedCount(), history.getTotalPrize()));
         }
         return sb.toString();
     }
@@ -159,10 +316,7 @@ public class GameService {
      * Reset the game state for a new game.
      */
     public void resetForNewGame(){
-        gameState.resetCurrentRound();
-        gameState.resetTotalWinnings();
-        gameState.resetTotalMatchCount();
-        gameState.resetCurrentRound();
+        gameState.gameReset();
         gameState.setCheatMode(false);
     }
 
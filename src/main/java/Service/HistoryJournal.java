@@ -0,0 +1,289 @@
+package Service;
+
+import Model.GameHistory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HistoryJournal is an append-only file of fixed-width binary game records.
+ * Appends go to a write buffer and reach the file in groups: the buffer is
+ * written and forced once per commit, not once per record. A group is
+ * committed when it is full, when its oldest record has waited longer than
+ * the commit delay, or when the journal is closed. The delay is enforced by
+ * a shared daemon timer, so records of an idle session are not left in the
+ * heap waiting for another append. Reads use
+ * read-only memory maps of the file in 32 MB segments, so any record,
+ * including the most recent ones, is found by offset without reading the
+ * rest of the file.
+ *
+ * Record layout, 32 bytes, big-endian:
+ * <pre>
+ *   0  long  timestamp (epoch millis)
+ *   8  int   spots
+ *  12  int   rounds
+ *  16  int   matches
+ *  20  int   reserved
+ *  24  long  prize
+ * </pre>
+ */
+public class HistoryJournal implements Closeable {
+    public static final int RECORD_SIZE = 32;
+    // Records buffered before they are committed automatically
+    private static final int DEFAULT_GROUP_SIZE = 64;
+    // Longest a buffered record waits for its group before it is committed
+    private static final long DEFAULT_COMMIT_DELAY_MILLIS = 5_000;
+    // Records per mapped segment (32 MB), keeping every map below the 2 GB limit
+    private static final int SEGMENT_RECORDS = 1 << 20;
+
+    // One daemon thread commits the groups of every journal once their delay has passed
+    private static final ScheduledThreadPoolExecutor COMMIT_TIMER = newCommitTimer();
+
+    private final FileChannel channel;
+    private final ByteBuffer writeBuffer;
+    private final int groupSize;
+    private final long commitDelayNanos;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long committedCount;
+    private int pendingCount;
+    private long oldestPendingNanos;
+    // Timed commit of the pending group, null when nothing is pending
+    private ScheduledFuture<?> commitTask;
+
+    // Constructor with the default group size and commit delay
+    public HistoryJournal(Path file) throws IOException {
+        this(file, DEFAULT_GROUP_SIZE);
+    }
+
+    // Constructor with the default commit delay
+    public HistoryJournal(Path file, int groupSize) throws IOException {
+        this(file, groupSize, DEFAULT_COMMIT_DELAY_MILLIS);
+    }
+
+    // Constructor opening or creating the journal file
+    public HistoryJournal(Path file, int groupSize, long commitDelayMillis) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.groupSize = Math.max(groupSize, 1);
+        this.writeBuffer = ByteBuffer.allocate(this.groupSize * RECORD_SIZE);
+        this.commitDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(commitDelayMillis, 0));
+
+        // Drop a torn record left by a crash in the middle of a write
+        long size = channel.size();
+        long validSize = size - size % RECORD_SIZE;
+        if (validSize != size) {
+            channel.truncate(validSize);
+        }
+        this.committedCount = validSize / RECORD_SIZE;
+        channel.position(validSize);
+    }
+
+    private static ScheduledThreadPoolExecutor newCommitTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "history-journal-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // A group committed early drops its timed commit, and with it the reference to the journal
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    /**
+     * Open the journal in the user's home directory.
+     * @return the default journal
+     * @throws IOException if the file cannot be opened
+     */
+    public static HistoryJournal openDefault() throws IOException {
+        return new HistoryJournal(Paths.get(System.getProperty("user.home"), ".keno", "history.journal"));
+    }
+
+    /**
+     * Append a finished game. The record is committed together with the
+     * rest of its group, once it has waited for the commit delay, or
+     * earlier by an explicit commit() or close().
+     * @param history - the game summary
+     * @param spots - the spots played in that game
+     * @throws IOException if a group commit fails
+     */
+    public synchronized void append(GameHistory history, int spots) throws IOException {
+        long now = System.nanoTime();
+        if (pendingCount == 0) {
+            oldestPendingNanos = now;
+        }
+        writeBuffer.putLong(System.currentTimeMillis());
+        writeBuffer.putInt(spots);
+        writeBuffer.putInt(history.getTotalRounds());
+        writeBuffer.putInt(history.getTotalMatchedCount());
+        writeBuffer.putInt(0);
+        writeBuffer.putLong(history.getTotalPrize());
+        pendingCount++;
+        if (pendingCount == groupSize || now - oldestPendingNanos >= commitDelayNanos) {
+            commit();
+        } else if (commitTask == null) {
+            commitTask = COMMIT_TIMER.schedule(this::commitIfDue, commitDelayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Commit the pending group from the timer once its oldest record has
+     * waited for the commit delay. Runs on the timer thread, so a failure is
+     * logged; the records stay buffered for the next commit.
+     */
+    private synchronized void commitIfDue() {
+        commitTask = null;
+        if (pendingCount == 0 || !channel.isOpen()) {
+            return;
+        }
+        long waited = System.nanoTime() - oldestPendingNanos;
+        if (waited < commitDelayNanos) {
+            commitTask = COMMIT_TIMER.schedule(this::commitIfDue, commitDelayNanos - waited, TimeUnit.NANOSECONDS);
+            return;
+        }
+        try {
+            commit();
+        } catch (IOException e) {
+            System.err.println("Error committing game history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write all buffered records and force them to disk.
+     * @throws IOException if writing fails
+     */
+    public synchronized void commit() throws IOException {
+        if (commitTask != null) {
+            commitTask.cancel(false);
+            commitTask = null;
+        }
+        if (pendingCount == 0) {
+            return;
+        }
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+        channel.force(false);
+        committedCount += pendingCount;
+        pendingCount = 0;
+    }
+
+    /**
+     * Get the number of records, including uncommitted ones.
+     * @return number of records
+     */
+    public synchronized long size() {
+        return committedCount + pendingCount;
+    }
+
+    /**
+     * Read one record.
+     * @param index - zero-based record index
+     * @return the game summary stored at that index
+     * @throws IOException if the file cannot be mapped
+     */
+    public synchronized GameHistory read(long index) throws IOException {
+        ByteBuffer buffer = recordBuffer(index);
+        int base = recordOffset(index);
+        return new GameHistory(buffer.getInt(base + 12), buffer.getInt(base + 16), buffer.getLong(base + 24));
+    }
+
+    /**
+     * Read the most recent records without touching the rest of the file.
+     * @param count - maximum number of records
+     * @return records in journal order, oldest first
+     * @throws IOException if the file cannot be mapped
+     */
+    public synchronized List<GameHistory> readTail(int count) throws IOException {
+        long end = size();
+        long start = Math.max(0, end - count);
+        List<GameHistory> tail = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            tail.add(read(i));
+        }
+        return tail;
+    }
+
+    // Primitive field accessors, for callers that scan many records
+    public synchronized long getTimestamp(long index) throws IOException {
+        return recordBuffer(index).getLong(recordOffset(index));
+    }
+
+    public synchronized int getSpots(long index) throws IOException {
+        return recordBuffer(index).getInt(recordOffset(index) + 8);
+    }
+
+    public synchronized int getRounds(long index) throws IOException {
+        return recordBuffer(index).getInt(recordOffset(index) + 12);
+    }
+
+    public synchronized int getMatches(long index) throws IOException {
+        return recordBuffer(index).getInt(recordOffset(index) + 16);
+    }
+
+    public synchronized long getPrize(long index) throws IOException {
+        return recordBuffer(index).getLong(recordOffset(index) + 24);
+    }
+
+    /**
+     * Find the buffer holding a record: a mapped segment for committed
+     * records, the write buffer for pending ones.
+     * @param index - zero-based record index
+     * @return buffer containing the record
+     * @throws IOException if the file cannot be mapped
+     */
+    private ByteBuffer recordBuffer(long index) throws IOException {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + size());
+        }
+        if (index >= committedCount) {
+            return writeBuffer;
+        }
+        int segment = (int) (index / SEGMENT_RECORDS);
+        long localOffset = (index % SEGMENT_RECORDS) * RECORD_SIZE;
+        MappedByteBuffer mapped = segment < segments.size() ? segments.get(segment) : null;
+        if (mapped != null && localOffset < mapped.capacity()) {
+            return mapped;
+        }
+        // The segment is new or the file has grown since it was last mapped
+        long start = (long) segment * SEGMENT_RECORDS;
+        long records = Math.min(SEGMENT_RECORDS, committedCount - start);
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, start * RECORD_SIZE, records * RECORD_SIZE);
+        while (segments.size() <= segment) {
+            segments.add(null);
+        }
+        segments.set(segment, mapped);
+        return mapped;
+    }
+
+    /**
+     * Get the byte offset of a record inside its buffer.
+     * @param index - zero-based record index
+     * @return offset in bytes
+     */
+    private int recordOffset(long index) {
+        long local = index >= committedCount ? index - committedCount : index % SEGMENT_RECORDS;
+        return (int) (local * RECORD_SIZE);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        commit();
+        channel.close();
+    }
+}
@@ -0,0 +1,91 @@
+package Service;
+
+import Model.GameHistory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * HistorySource interface gives random access to recorded games by index,
+ * so viewers can load only the rows they display.
+ */
+public interface HistorySource {
+    long size();
+
+    int getRounds(long index);
+
+    int getMatches(long index);
+
+    long getPrize(long index);
+
+    /**
+     * Create a source over an in-memory list of games.
+     * @param histories - the recorded games
+     * @return source reading from the list
+     */
+    static HistorySource of(List<GameHistory> histories) {
+        return new HistorySource() {
+            @Override
+            public long size() {
+                return histories.size();
+            }
+
+            @Override
+            public int getRounds(long index) {
+                return histories.get((int) index).getTotalRounds();
+            }
+
+            @Override
+            public int getMatches(long index) {
+                return histories.get((int) index).getTotalMatchedCount();
+            }
+
+            @Override
+            public long getPrize(long index) {
+                return histories.get((int) index).getTotalPrize();
+            }
+        };
+    }
+
+    /**
+     * Create a source over a history journal.
+     * @param journal - the journal to read
+     * @return source reading records from the journal's memory map
+     */
+    static HistorySource of(HistoryJournal journal) {
+        return new HistorySource() {
+            @Override
+            public long size() {
+                return journal.size();
+            }
+
+            @Override
+            public int getRounds(long index) {
+                try {
+                    return journal.getRounds(index);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public int getMatches(long index) {
+                try {
+                    return journal.getMatches(index);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public long getPrize(long index) {
+                try {
+                    return journal.getPrize(index);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+}
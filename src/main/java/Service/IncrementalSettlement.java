@@ -0,0 +1,258 @@
+package Service;
+
+import Model.NumberMask;
+import Model.PrizeTable;
+import Model.TicketBatch;
+import Model.WinningTickets;
+
+import java.util.Arrays;
+
+/**
+ * IncrementalSettlement settles a batch of open tickets while the numbers
+ * of a draw are revealed one at a time. Each reveal adds to the running hit
+ * counts of the tickets still in play, then drops every ticket that no
+ * remaining number can lift onto a paying tier of the PrizeTable; those are
+ * final losers and are never looked at again. After the last number only
+ * the tickets still in play have to be confirmed.
+ * The number of tickets in play after each reveal is kept for the whole
+ * draw, so a table can report how the field narrowed. As a RoundListener it
+ * follows the draws of a RoundEngine.
+ */
+public class IncrementalSettlement implements RoundListener {
+    private static final int STRIDE = PrizeTable.MAX_SPOTS + 1;
+    private static final int[] PAYOUTS = PrizeTable.getFlatPayouts();
+
+    private final int drawSize;
+    private TicketBatch tickets;
+    // Hit count of every ticket that has left play, as it was then
+    private byte[] hits = new byte[0];
+    // Columns of the tickets still in play, compacted in ascending id order
+    private int[] liveIds = new int[0];
+    private long[] liveLow = new long[0];
+    private long[] liveHigh = new long[0];
+    private byte[] liveSpots = new byte[0];
+    private byte[] liveHits = new byte[0];
+    private int liveCount;
+    // liveHistory[k] is the number of tickets in play after k reveals
+    private final int[] liveHistory;
+    private int revealed;
+    private long revealedLow;
+    private long revealedHigh;
+    // inPlay[spots * STRIDE + hits] is 1 if such a ticket can still win this reveal
+    private final int[] inPlay = new int[STRIDE * STRIDE];
+
+    // Constructor for the standard 20-number draw
+    public IncrementalSettlement() {
+        this(DrawGenerator.DRAW_SIZE);
+    }
+
+    // Constructor with the numbers per draw
+    public IncrementalSettlement(int drawSize) {
+        if (drawSize < 1 || drawSize > NumberMask.MAX_NUMBER) {
+            throw new IllegalArgumentException("Invalid draw size: " + drawSize);
+        }
+        this.drawSize = drawSize;
+        this.liveHistory = new int[drawSize + 1];
+    }
+
+    /**
+     * Check if a ticket can still reach a paying tier.
+     * @param spots - number of picked numbers
+     * @param hits - numbers hit so far
+     * @param remaining - numbers still to be drawn
+     * @return True if some remaining draw pays the ticket, false otherwise.
+     */
+    public static boolean canStillWin(int spots, int hits, int remaining) {
+        int best = hits + Math.min(remaining, spots - hits);
+        int reachable = (2 << best) - (1 << hits);
+        return (PrizeTable.getWinMask(spots) & reachable) != 0;
+    }
+
+    /**
+     * Start following a new draw for a batch of tickets. The batch must not
+     * change until the draw is finished.
+     * @param tickets - the open tickets
+     */
+    public void open(TicketBatch tickets) {
+        this.tickets = tickets;
+        int size = tickets.size();
+        if (hits.length < size) {
+            hits = new byte[size];
+            liveIds = new int[size];
+            liveLow = new long[size];
+            liveHigh = new long[size];
+            liveSpots = new byte[size];
+            liveHits = new byte[size];
+        } else {
+            Arrays.fill(hits, 0, size, (byte) 0);
+        }
+        revealed = 0;
+        revealedLow = 0L;
+        revealedHigh = 0L;
+        byte[] spots = tickets.spots();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (canStillWin(spots[i], 0, drawSize)) {
+                liveIds[count] = i;
+                liveLow[count] = tickets.getLowMask(i);
+                liveHigh[count] = tickets.getHighMask(i);
+                liveSpots[count] = spots[i];
+                liveHits[count] = 0;
+                count++;
+            }
+        }
+        liveCount = count;
+        liveHistory[0] = count;
+    }
+
+    /**
+     * Reveal the next drawn number: count it for the tickets in play and
+     * drop the tickets that can no longer win.
+     * @param number - the drawn number
+     * @return number of tickets still in play
+     * @throws IllegalStateException if no batch is open or the draw is complete
+     * @throws IllegalArgumentException if the number is invalid or already revealed
+     */
+    public int reveal(int number) {
+        if (tickets == null || revealed == drawSize) {
+            throw new IllegalStateException("No open draw to reveal a number in");
+        }
+        if (number < 1 || number > NumberMask.MAX_NUMBER || NumberMask.contains(revealedLow, revealedHigh, number)) {
+            throw new IllegalArgumentException("Invalid or repeated number: " + number);
+        }
+        revealedLow |= NumberMask.lowBit(number);
+        revealedHigh |= NumberMask.highBit(number);
+        int remaining = drawSize - ++revealed;
+        boolean lowWord = number <= NumberMask.LOW_WORD_BITS;
+        long[] masks = lowWord ? liveLow : liveHigh;
+        long bit = lowWord ? NumberMask.lowBit(number) : NumberMask.highBit(number);
+        int shift = Long.numberOfTrailingZeros(bit);
+        for (int spotCount = 0; spotCount <= PrizeTable.MAX_SPOTS; spotCount++) {
+            for (int count = 0; count <= spotCount; count++) {
+                inPlay[spotCount * STRIDE + count] = canStillWin(spotCount, count, remaining) ? 1 : 0;
+            }
+        }
+        // Compact the tickets still in play to the front, keeping their order,
+        // so every pass streams through the columns
+        int kept = 0;
+        for (int i = 0; i < liveCount; i++) {
+            int spotCount = liveSpots[i];
+            int count = liveHits[i] + (int) ((masks[i] & bit) >>> shift);
+            if (inPlay[spotCount * STRIDE + count] == 0) {
+                hits[liveIds[i]] = (byte) count;
+                continue;
+            }
+            if (kept != i) {
+                liveIds[kept] = liveIds[i];
+                liveLow[kept] = liveLow[i];
+                liveHigh[kept] = liveHigh[i];
+                liveSpots[kept] = (byte) spotCount;
+            }
+            liveHits[kept++] = (byte) count;
+        }
+        liveCount = kept;
+        liveHistory[revealed] = kept;
+        return kept;
+    }
+
+    /**
+     * Confirm the result once every number is revealed. Only the tickets
+     * still in play are visited; all others are known losers.
+     * @param winners - cleared, then filled with the winners in ticket order
+     * @return the total payout
+     * @throws IllegalStateException if the draw is not complete
+     */
+    public long finish(WinningTickets winners) {
+        if (tickets == null || revealed != drawSize) {
+            throw new IllegalStateException("Only " + revealed + " of " + drawSize + " numbers are revealed");
+        }
+        winners.clear();
+        for (int i = 0; i < liveCount; i++) {
+            int payout = PAYOUTS[liveSpots[i] * STRIDE + liveHits[i]];
+            if (payout != 0) {
+                winners.add(liveIds[i], liveHits[i], payout);
+            }
+        }
+        return winners.getTotalPayout();
+    }
+
+    /**
+     * Settle a batch against a whole draw, revealing its numbers in
+     * ascending order as a RoundEngine does.
+     * @param tickets - the tickets to settle
+     * @param drawLow - low word of the drawn numbers
+     * @param drawHigh - high word of the drawn numbers
+     * @param winners - cleared, then filled with the winners in ticket order
+     * @return the total payout
+     * @throws IllegalArgumentException if the draw does not hold exactly the numbers per draw
+     */
+    public long settle(TicketBatch tickets, long drawLow, long drawHigh, WinningTickets winners) {
+        if (NumberMask.size(drawLow, drawHigh) != drawSize || !NumberMask.isValidHighWord(drawHigh)) {
+            throw new IllegalArgumentException("Invalid draw with " + NumberMask.size(drawLow, drawHigh) + " numbers");
+        }
+        open(tickets);
+        for (long bits = drawLow; bits != 0; bits &= bits - 1) {
+            reveal(Long.numberOfTrailingZeros(bits) + 1);
+        }
+        for (long bits = drawHigh; bits != 0; bits &= bits - 1) {
+            reveal(Long.numberOfTrailingZeros(bits) + NumberMask.LOW_WORD_BITS + 1);
+        }
+        return finish(winners);
+    }
+
+    @Override
+    public void onRoundStarted(int round, int totalRounds, long seed) {
+        if (tickets != null) {
+            open(tickets);
+        }
+    }
+
+    @Override
+    public void onNumberDrawn(int round, int number, boolean matched, int matchesSoFar) {
+        if (tickets != null) {
+            reveal(number);
+        }
+    }
+
+    // Getters
+    public int getLiveCount() {
+        return liveCount;
+    }
+
+    public int getRevealedCount() {
+        return revealed;
+    }
+
+    /**
+     * Get the number of tickets that were in play after some reveals of the current draw.
+     * @param revealedCount - numbers revealed, 0 for the opened batch
+     * @return tickets in play at that point
+     * @throws IllegalArgumentException if that many numbers have not been revealed
+     */
+    public int getLiveCount(int revealedCount) {
+        if (tickets == null || revealedCount < 0 || revealedCount > revealed) {
+            throw new IllegalArgumentException("Only " + revealed + " numbers are revealed, not " + revealedCount);
+        }
+        return liveHistory[revealedCount];
+    }
+
+    /**
+     * Check if a ticket is still in play.
+     * @param index - index of the ticket in the batch
+     * @return True if the ticket can still win, false if it is a final loser.
+     */
+    public boolean isLive(int index) {
+        return Arrays.binarySearch(liveIds, 0, liveCount, index) >= 0;
+    }
+
+    /**
+     * Get the hits of a ticket so far. Counting stops when a ticket leaves
+     * play, so for a final loser this is its hits at that point.
+     * @param index - index of the ticket in the batch
+     * @return hits counted for the ticket
+     */
+    public int getHits(int index) {
+        int position = Arrays.binarySearch(liveIds, 0, liveCount, index);
+        return position >= 0 ? liveHits[position] : hits[index];
+    }
+}
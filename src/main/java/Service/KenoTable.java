@@ -0,0 +1,328 @@
+package Service;
+
+import Model.NumberMask;
+import Model.TableDrawResult;
+import Model.TicketBatch;
+import Model.WinningTickets;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * KenoTable runs a shared table where many player sessions place tickets for
+ * the same upcoming draw. One draw from the GameService generator is settled
+ * against every ticket at once.
+ * Sessions are spread over shards, each with its own lock, ticket batch and
+ * primitive per-session columns, so placing tickets on different shards never
+ * contends. A draw closes each shard by swapping in its spare batch, so
+ * tickets for the next draw can be placed while the closed ones settle.
+ * The closed tickets are settled incrementally, one drawn number at a time,
+ * so each draw reports how many tickets were still in play after every number.
+ * A table built with a liability cap also tracks the exposure of each draw
+ * and refuses tickets over the cap. The shards then share the tracker's
+ * lock, so placing tickets is serialized on it.
+ */
+public class KenoTable {
+    // Highest number of shards a table may have
+    private static final int MAX_SHARDS = 1 << 16;
+
+    private final GameService gameService;
+    private final SettlementService settlementService;
+    private final Shard[] shards;
+    private final int shardBits;
+    private final TicketBatch[] closedBatches;
+    private final IncrementalSettlement[] settlements;
+    private final WinningTickets[] winners;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    // Held for a whole draw, never while placing tickets
+    private final Object drawLock = new Object();
+    // Exposure of the draws with even and odd numbers, null when untracked
+    private final ExposureTracker[] exposures;
+    // Index of the tracker of the draw taking tickets, flipped when a draw closes
+    private volatile int openParity;
+    private volatile long drawCount;
+
+    // Constructor with one shard per core
+    public KenoTable(GameService gameService) {
+        this(gameService, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Constructor with a shard count, rounded up to a power of two
+    public KenoTable(GameService gameService, int shardCount) {
+        this(gameService, shardCount, null);
+    }
+
+    // Constructor with a shard count and the highest worst-case payout of a draw
+    public KenoTable(GameService gameService, int shardCount, long liabilityCap) {
+        this(gameService, shardCount, new ExposureTracker[] {
+                new ExposureTracker(liabilityCap), new ExposureTracker(liabilityCap)});
+    }
+
+    private KenoTable(GameService gameService, int shardCount, ExposureTracker[] exposures) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Invalid shard count: " + shardCount);
+        }
+        int size = Integer.highestOneBit(shardCount);
+        if (size < shardCount) {
+            size <<= 1;
+        }
+        this.gameService = gameService;
+        this.settlementService = gameService.getSettlementService();
+        this.shardBits = Integer.numberOfTrailingZeros(size);
+        this.shards = new Shard[size];
+        this.closedBatches = new TicketBatch[size];
+        this.settlements = new IncrementalSettlement[size];
+        this.winners = new WinningTickets[size];
+        this.exposures = exposures;
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard(exposures);
+            settlements[i] = new IncrementalSettlement();
+            winners[i] = new WinningTickets();
+        }
+    }
+
+    /**
+     * Open a new player session. Sessions are dealt to the shards in turn.
+     * @return id of the session
+     */
+    public int openSession() {
+        int shard = nextShard.getAndIncrement() & (shards.length - 1);
+        int local = shards[shard].addSession();
+        if (local >= (Integer.MAX_VALUE >>> shardBits)) {
+            throw new IllegalStateException("Too many sessions on the table");
+        }
+        return (local << shardBits) | shard;
+    }
+
+    /**
+     * Place a ticket for the upcoming draw.
+     * @param sessionId - the session placing the ticket
+     * @param lowMask - low word of the picked numbers
+     * @param highMask - high word of the picked numbers
+     * @return True if the ticket was placed, false if it would exceed the liability cap.
+     * @throws IllegalArgumentException if the session is unknown or the ticket invalid
+     */
+    public boolean placeTicket(int sessionId, long lowMask, long highMask) {
+        return shardOf(sessionId).place(localIndex(sessionId), lowMask, highMask);
+    }
+
+    /**
+     * Place a ticket for the upcoming draw. The numbers are checked before
+     * they are masked, so nothing is booked for an invalid ticket.
+     * @param sessionId - the session placing the ticket
+     * @param numbers - distinct picked numbers between 1 and 80
+     * @return True if the ticket was placed, false if it would exceed the liability cap.
+     * @throws IllegalArgumentException if the session is unknown or a number is out of range or repeated
+     */
+    public boolean placeTicket(int sessionId, List<Integer> numbers) {
+        Shard shard = shardOf(sessionId);
+        long lowMask = NumberMask.lowWord(numbers);
+        long highMask = NumberMask.highWord(numbers);
+        return shard.place(localIndex(sessionId), lowMask, highMask);
+    }
+
+    /**
+     * Get the total winnings of a session over all settled draws.
+     * @param sessionId - the session
+     * @return total winnings
+     */
+    public long getWinnings(int sessionId) {
+        return shardOf(sessionId).getWinnings(localIndex(sessionId));
+    }
+
+    /**
+     * Get the number of tickets a session has placed, settled or not.
+     * @param sessionId - the session
+     * @return number of tickets placed
+     */
+    public long getTicketCount(int sessionId) {
+        return shardOf(sessionId).getTicketCount(localIndex(sessionId));
+    }
+
+    /**
+     * Get the number of open sessions.
+     * @return number of sessions on the table
+     */
+    public int getSessionCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.getSessionCount();
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of tickets waiting for the next draw.
+     * @return number of pending tickets
+     */
+    public int getPendingTicketCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.getPendingCount();
+        }
+        return count;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Get the exposure tracker of the upcoming draw.
+     * @return the tracker, or null if the table has no liability cap
+     */
+    public ExposureTracker getExposure() {
+        return exposures == null ? null : exposures[openParity];
+    }
+
+    /**
+     * Close the upcoming draw, draw once and settle every pending ticket
+     * against it, crediting each payout to its session.
+     * Tickets placed while the draw settles go to the next draw.
+     * @return summary of the draw
+     */
+    public TableDrawResult drawAndSettle() {
+        synchronized (drawLock) {
+            // Closing flips every shard to the other draw's tracker, which is now the upcoming one
+            int closedParity = openParity;
+            openParity = closedParity ^ 1;
+            int tickets = 0;
+            for (int i = 0; i < shards.length; i++) {
+                closedBatches[i] = shards[i].close();
+                tickets += closedBatches[i].size();
+            }
+            long seed = gameService.drawForTable();
+            long drawLow = gameService.getLastDrawLowMask();
+            long drawHigh = gameService.getLastDrawHighMask();
+            settlementService.settleIncrementally(drawLow, drawHigh, closedBatches, settlements, winners);
+
+            int winnerCount = 0;
+            long totalPayout = 0;
+            int[] liveCounts = new int[DrawGenerator.DRAW_SIZE + 1];
+            for (int i = 0; i < shards.length; i++) {
+                winnerCount += shards[i].credit(winners[i]);
+                totalPayout += winners[i].getTotalPayout();
+                for (int revealed = 0; revealed < liveCounts.length; revealed++) {
+                    liveCounts[revealed] += settlements[i].getLiveCount(revealed);
+                }
+            }
+            if (exposures != null) {
+                exposures[closedParity].clear();
+            }
+            return new TableDrawResult(++drawCount, seed, drawLow, drawHigh, tickets, winnerCount, totalPayout, liveCounts);
+        }
+    }
+
+    private Shard shardOf(int sessionId) {
+        if (sessionId < 0) {
+            throw new IllegalArgumentException("Unknown session: " + sessionId);
+        }
+        return shards[sessionId & (shards.length - 1)];
+    }
+
+    private int localIndex(int sessionId) {
+        return sessionId >>> shardBits;
+    }
+
+    /**
+     * One shard of the table: its sessions' counters and the tickets they
+     * placed, as primitive columns guarded by the shard's own lock.
+     * The closed batch and its owners are only touched by the draw.
+     */
+    private static final class Shard {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final ExposureTracker[] exposures;
+        // Index of the tracker of the open batch
+        private int parity;
+
+        private long[] winnings = new long[INITIAL_CAPACITY];
+        private long[] ticketCounts = new long[INITIAL_CAPACITY];
+        private int sessionCount;
+
+        private TicketBatch open = new TicketBatch(INITIAL_CAPACITY);
+        private int[] openOwners = new int[INITIAL_CAPACITY];
+        private TicketBatch closed = new TicketBatch(INITIAL_CAPACITY);
+        private int[] closedOwners = new int[INITIAL_CAPACITY];
+
+        // Constructor, exposures may be null
+        Shard(ExposureTracker[] exposures) {
+            this.exposures = exposures;
+        }
+
+        synchronized int addSession() {
+            if (sessionCount == winnings.length) {
+                winnings = Arrays.copyOf(winnings, sessionCount * 2);
+                ticketCounts = Arrays.copyOf(ticketCounts, sessionCount * 2);
+            }
+            return sessionCount++;
+        }
+
+        synchronized boolean place(int session, long lowMask, long highMask) {
+            checkSession(session);
+            if (exposures != null && !exposures[parity].tryAccept(lowMask, highMask, 1)) {
+                return false;
+            }
+            int index = open.add(lowMask, highMask);
+            if (index == openOwners.length) {
+                openOwners = Arrays.copyOf(openOwners, index * 2);
+            }
+            openOwners[index] = session;
+            ticketCounts[session]++;
+            return true;
+        }
+
+        /**
+         * Swap the open batch with the spare one, closing it to new tickets.
+         * @return the closed batch
+         */
+        synchronized TicketBatch close() {
+            TicketBatch batch = open;
+            int[] owners = openOwners;
+            closed.clear();
+            open = closed;
+            openOwners = closedOwners;
+            closed = batch;
+            closedOwners = owners;
+            parity ^= 1;
+            return batch;
+        }
+
+        /**
+         * Credit the payouts of the closed batch to their sessions.
+         * @param winners - the winning tickets of the closed batch
+         * @return number of winning tickets
+         */
+        synchronized int credit(WinningTickets winners) {
+            for (int i = 0; i < winners.size(); i++) {
+                winnings[closedOwners[winners.getTicketId(i)]] += winners.getPayout(i);
+            }
+            return winners.size();
+        }
+
+        synchronized long getWinnings(int session) {
+            checkSession(session);
+            return winnings[session];
+        }
+
+        synchronized long getTicketCount(int session) {
+            checkSession(session);
+            return ticketCounts[session];
+        }
+
+        synchronized int getSessionCount() {
+            return sessionCount;
+        }
+
+        synchronized int getPendingCount() {
+            return open.size();
+        }
+
+        private void checkSession(int session) {
+            if (session >= sessionCount) {
+                throw new IllegalArgumentException("Unknown session: " + session);
+            }
+        }
+    }
+}
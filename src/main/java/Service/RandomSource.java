@@ -0,0 +1,14 @@
+package Service;
+
+/**
+ * RandomSource interface supplies the 64-bit seeds that drive each draw.
+ * A DrawGenerator asks for exactly one seed per draw and expands it itself,
+ * so any draw can be replayed from its recorded seed during an audit.
+ */
+public interface RandomSource {
+    /**
+     * Get the seed for the next draw.
+     * @return a 64-bit seed
+     */
+    long nextSeed();
+}
@@ -0,0 +1,147 @@
+package Service;
+
+import Model.GameHistory;
+import Model.GameState;
+import Model.NumberMask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RoundEngine plays Keno rounds against a GameState with no JavaFX dependency.
+ * A round is drawn, matched and settled synchronously and reported to its
+ * listeners as events, so views can replay them at their own pace while
+ * servers and tests play whole games in a single call.
+ * Playing a round allocates nothing; listeners are called by index and the
+ * round works on primitive masks and counters only.
+ */
+public class RoundEngine {
+    private final GameService gameService;
+    private final GameState gameState;
+    private final List<RoundListener> listeners = new ArrayList<>();
+    private DrawRing drawRing;
+
+    // Constructor
+    public RoundEngine(GameService gameService, GameState gameState) {
+        this.gameService = gameService;
+        this.gameState = gameState;
+    }
+
+    public void addListener(RoundListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(RoundListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Attach a ring that receives every settled draw, for consumers that read
+     * draws at their own pace.
+     * @param drawRing - the ring, or null to publish nowhere
+     */
+    public void setDrawRing(DrawRing drawRing) {
+        this.drawRing = drawRing;
+    }
+
+    public DrawRing getDrawRing() {
+        return drawRing;
+    }
+
+    /**
+     * Check if every drawing of the current game has been played.
+     * @return True if no round is left, false otherwise.
+     */
+    public boolean isGameOver() {
+        return gameState.getCurrentRound() >= gameService.getMaxDrawings();
+    }
+
+    /**
+     * Play the next round: draw, report each drawn number in ascending order,
+     * then settle the round into the game totals.
+     * @return the prize won in the round
+     */
+    public int playRound() {
+        if (!gameService.isReadyToPlay()) {
+            throw new IllegalStateException("Select " + gameService.getMaxSelections() + " numbers before playing");
+        }
+        if (isGameOver()) {
+            throw new IllegalStateException("All " + gameService.getMaxDrawings() + " rounds have been played");
+        }
+        long seed = gameService.drawForRound();
+        gameState.roundStarted(gameService.getMaxDrawings(), seed);
+        int round = gameState.getCurrentRound();
+        long drawLow = gameService.getLastDrawLowMask();
+        long drawHigh = gameService.getLastDrawHighMask();
+        long pickLow = gameService.getSelectedLowMask();
+        long pickHigh = gameService.getSelectedHighMask();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onRoundStarted(round, gameService.getMaxDrawings(), seed);
+        }
+
+        // Walk the draw masks from the lowest bit up, so numbers come out sorted
+        for (long bits = drawLow; bits != 0; bits &= bits - 1) {
+            drawNumber(round, Long.numberOfTrailingZeros(bits) + 1, pickLow, pickHigh);
+        }
+        for (long bits = drawHigh; bits != 0; bits &= bits - 1) {
+            drawNumber(round, Long.numberOfTrailingZeros(bits) + NumberMask.LOW_WORD_BITS + 1, pickLow, pickHigh);
+        }
+
+        int matches = gameState.getCurrentMatchCount();
+        int prize = gameService.calculatePrize(matches);
+        gameState.roundSettled(prize);
+        if (drawRing != null) {
+            drawRing.publish(round, seed, drawLow, drawHigh, System.currentTimeMillis());
+        }
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onRoundSettled(round, matches, prize, pickLow & drawLow, pickHigh & drawHigh);
+        }
+        return prize;
+    }
+
+    /**
+     * Report one drawn number and count it if the user picked it.
+     * @param round - the current round
+     * @param number - the drawn number
+     * @param pickLow - low word of the user's picks
+     * @param pickHigh - high word of the user's picks
+     */
+    private void drawNumber(int round, int number, long pickLow, long pickHigh) {
+        boolean matched = NumberMask.contains(pickLow, pickHigh, number);
+        gameState.numberDrawn(number, matched);
+        int matchesSoFar = gameState.getCurrentMatchCount();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onNumberDrawn(round, number, matched, matchesSoFar);
+        }
+    }
+
+    /**
+     * Record the finished game in the history and reset the state for a new game.
+     * @return the recorded game summary
+     */
+    public GameHistory finishGame() {
+        GameHistory history = new GameHistory(
+                gameService.getMaxDrawings(),
+                Math.toIntExact(gameState.getTotalMatchCount()),
+                gameState.getTotalWinnings()
+        );
+        gameService.recordGameHistory(history);
+        gameState.gameFinished();
+        gameState.setCheatMode(false);
+        for (RoundListener listener : listeners) {
+            listener.onGameFinished(history);
+        }
+        return history;
+    }
+
+    /**
+     * Play every remaining round of the game and finish it.
+     * @return the recorded game summary
+     */
+    public GameHistory playGame() {
+        while (!isGameOver()) {
+            playRound();
+        }
+        return finishGame();
+    }
+}
@@ -0,0 +1,146 @@
+package Service;
+
+import Model.GameHistory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * RoundExporter streams every round a RoundEngine plays to a channel: the
+ * picks, the draw, the matches and the payout. Rows are encoded into one
+ * fixed-size buffer that is written to the channel whenever it fills, so an
+ * export of any length runs in constant memory.
+ * Subclasses define the file format. As a RoundListener the exporter reads
+ * the picks and the draw from the GameService of the engine it listens to;
+ * rows can also be written directly with writeRound.
+ */
+public abstract class RoundExporter implements RoundListener, Closeable {
+    // Size of the write buffer between the encoder and the channel
+    protected static final int BUFFER_SIZE = 1 << 20;
+
+    protected final ByteBuffer buffer;
+    private final WritableByteChannel channel;
+    private GameService gameService;
+    private long gameNumber = 1;
+    private long seed;
+    private long rowCount;
+
+    // Constructor
+    protected RoundExporter(WritableByteChannel channel, ByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Export the rounds of the game the service plays when used as a listener.
+     * @param gameService - service holding the picks and the last draw
+     */
+    public void setGameService(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    @Override
+    public void onRoundStarted(int round, int totalRounds, long seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public void onRoundSettled(int round, int matches, int prize, long matchedLow, long matchedHigh) {
+        if (gameService == null) {
+            throw new IllegalStateException("Set the game service before exporting an engine's rounds");
+        }
+        try {
+            writeRound(gameNumber, round, seed, gameService.getMaxSelections(),
+                    gameService.getSelectedLowMask(), gameService.getSelectedHighMask(),
+                    gameService.getLastDrawLowMask(), gameService.getLastDrawHighMask(), matches, prize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onGameFinished(GameHistory history) {
+        gameNumber++;
+    }
+
+    /**
+     * Write one round.
+     * @param game - game the round belongs to, numbered from 1
+     * @param round - round within the game
+     * @param seed - seed of the draw
+     * @param spots - number of picks
+     * @param pickLow - low word of the picks
+     * @param pickHigh - high word of the picks
+     * @param drawLow - low word of the draw
+     * @param drawHigh - high word of the draw
+     * @param matches - matched numbers
+     * @param prize - payout of the round
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeRound(long game, int round, long seed, int spots, long pickLow, long pickHigh,
+                           long drawLow, long drawHigh, int matches, int prize) throws IOException {
+        encodeRound(game, round, seed, spots, pickLow, pickHigh, drawLow, drawHigh, matches, prize);
+        rowCount++;
+    }
+
+    /**
+     * Encode one round into the buffer, draining it first when needed.
+     * @throws IOException if the channel cannot be written
+     */
+    protected abstract void encodeRound(long game, int round, long seed, int spots, long pickLow, long pickHigh,
+                                        long drawLow, long drawHigh, int matches, int prize) throws IOException;
+
+    /**
+     * Write what the format still holds back, such as a partial group or a footer.
+     * @throws IOException if the channel cannot be written
+     */
+    protected void finish() throws IOException {
+    }
+
+    /**
+     * Make room in the buffer for the given number of bytes.
+     * @param bytes - bytes about to be put
+     * @throws IOException if the channel cannot be written
+     */
+    protected void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    /**
+     * Write the buffered bytes to the channel and empty the buffer.
+     * @throws IOException if the channel cannot be written
+     */
+    protected void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Get the number of rounds written so far.
+     * @return row count
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Finish the format, write the remaining bytes and close the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package Service;
+
+import Model.GameHistory;
+
+/**
+ * RoundListener interface receives the events of a RoundEngine.
+ * All methods are optional; events are delivered on the thread playing the round.
+ */
+public interface RoundListener {
+    default void onRoundStarted(int round, int totalRounds, long seed) {
+    }
+
+    default void onNumberDrawn(int round, int number, boolean matched, int matchesSoFar) {
+    }
+
+    default void onRoundSettled(int round, int matches, int prize, long matchedLow, long matchedHigh) {
+    }
+
+    default void onGameFinished(GameHistory history) {
+    }
+}
@@ -0,0 +1,40 @@
+package Service;
+
+import Model.PrizeTable;
+import Model.SettlementResult;
+import Model.TicketBatch;
+
+/**
+ * ScalarSettlementKernel matches one ticket at a time with two ANDs and two
+ * popcounts and reads its payout from a flat [spots][hits] table.
+ */
+public final class ScalarSettlementKernel implements SettlementKernel {
+    public static final ScalarSettlementKernel INSTANCE = new ScalarSettlementKernel();
+
+    // Row stride of the flat payout table
+    private static final int STRIDE = PrizeTable.MAX_SPOTS + 1;
+    // Flat payout table indexed by spots * STRIDE + hits
+    private static final int[] PAYOUTS = PrizeTable.getFlatPayouts();
+
+    private ScalarSettlementKernel() {
+    }
+
+    @Override
+    public void settle(long drawLow, long drawHigh, TicketBatch tickets, SettlementResult result, int from, int to) {
+        long[] lowMasks = tickets.lowMasks();
+        long[] highMasks = tickets.highMasks();
+        byte[] spots = tickets.spots();
+        byte[] matches = result.matches();
+        int[] payouts = result.payouts();
+        for (int i = from; i < to; i++) {
+            int hits = Long.bitCount(lowMasks[i] & drawLow) + Long.bitCount(highMasks[i] & drawHigh);
+            matches[i] = (byte) hits;
+            payouts[i] = PAYOUTS[spots[i] * STRIDE + hits];
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,30 @@
+package Service;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * SecureRandomSource takes seeds from a DRBG SecureRandom, falling back to the
+ * platform default when DRBG is unavailable. Use it when draws must be
+ * unpredictable; the recorded seed still makes every draw replayable.
+ */
+public class SecureRandomSource implements RandomSource {
+    private final SecureRandom random;
+
+    // Constructor
+    public SecureRandomSource() {
+        SecureRandom drbg;
+        try {
+            drbg = SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            System.err.println("DRBG not available, using default SecureRandom: " + e.getMessage());
+            drbg = new SecureRandom();
+        }
+        this.random = drbg;
+    }
+
+    @Override
+    public long nextSeed() {
+        return random.nextLong();
+    }
+}
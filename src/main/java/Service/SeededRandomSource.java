@@ -0,0 +1,43 @@
+package Service;
+
+/**
+ * SeededRandomSource produces a reproducible sequence of seeds from one master
+ * seed. The seed of draw i is a pure function of the master seed and i, so a
+ * whole session can be regenerated, or any single draw located, from the
+ * master seed alone.
+ */
+public class SeededRandomSource implements RandomSource {
+    // Odd increment of the SplitMix64 sequence
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long masterSeed;
+    private long index;
+
+    // Constructor
+    public SeededRandomSource(long masterSeed) {
+        this.masterSeed = masterSeed;
+    }
+
+    @Override
+    public long nextSeed() {
+        return seedAt(index++);
+    }
+
+    /**
+     * Get the seed of a given draw without advancing the sequence.
+     * @param drawIndex - zero-based index of the draw
+     * @return the seed of that draw
+     */
+    public long seedAt(long drawIndex) {
+        return DrawGenerator.mix(masterSeed + (drawIndex + 1) * GOLDEN_GAMMA);
+    }
+
+    // Getters
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+}
@@ -0,0 +1,79 @@
+package Service;
+
+import Model.SettlementResult;
+import Model.TicketBatch;
+
+/**
+ * SettlementKernel interface matches a range of tickets against a draw and
+ * looks up their payouts. Every kernel must give bit-identical results to
+ * the scalar kernel.
+ * The vector kernel is only compiled with the vector profile and only runs
+ * when the JVM is started with --add-modules jdk.incubator.vector; set
+ * -Dkeno.settlementKernel=scalar or =vector to choose a kernel explicitly.
+ */
+public interface SettlementKernel {
+    String KERNEL_PROPERTY = "keno.settlementKernel";
+    String VECTOR_KERNEL_CLASS = "Service.VectorSettlementKernel";
+
+    /**
+     * Settle a contiguous range of tickets.
+     * @param drawLow - low word of the drawn numbers
+     * @param drawHigh - high word of the drawn numbers
+     * @param tickets - the tickets to settle
+     * @param result - the result to fill, already sized for the batch
+     * @param from - first ticket index, inclusive
+     * @param to - last ticket index, exclusive
+     */
+    void settle(long drawLow, long drawHigh, TicketBatch tickets, SettlementResult result, int from, int to);
+
+    /**
+     * Get the name of the kernel.
+     * @return "scalar" or "vector"
+     */
+    String getName();
+
+    /**
+     * Get the scalar kernel, which runs everywhere.
+     * @return the scalar kernel
+     */
+    static SettlementKernel scalar() {
+        return ScalarSettlementKernel.INSTANCE;
+    }
+
+    /**
+     * Get a kernel by name.
+     * @param name - "scalar" or "vector"
+     * @return the kernel
+     * @throws IllegalStateException if the vector kernel is not available
+     */
+    static SettlementKernel named(String name) {
+        if ("scalar".equals(name)) {
+            return scalar();
+        }
+        if (!"vector".equals(name)) {
+            throw new IllegalArgumentException("Unknown settlement kernel: " + name);
+        }
+        try {
+            return (SettlementKernel) Class.forName(VECTOR_KERNEL_CLASS).getField("INSTANCE").get(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("The vector settlement kernel is not available", e);
+        }
+    }
+
+    /**
+     * Get the kernel chosen by the kernel property, else the vector kernel
+     * when it is available, else the scalar kernel.
+     * @return the kernel to settle with
+     */
+    static SettlementKernel best() {
+        String name = System.getProperty(KERNEL_PROPERTY);
+        if (name != null) {
+            return named(name);
+        }
+        try {
+            return named("vector");
+        } catch (IllegalStateException e) {
+            return scalar();
+        }
+    }
+}
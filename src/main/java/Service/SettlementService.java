@@ -0,0 +1,187 @@
+package Service;
+
+import Model.NumberMask;
+import Model.SettlementResult;
+import Model.TicketBatch;
+import Model.WinningTickets;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * SettlementService settles a whole batch of tickets against one draw.
+ * Ticket ranges are matched and paid by a SettlementKernel, vectorized when
+ * available; large batches are split across cores.
+ */
+public class SettlementService {
+    // Batches at or below this size are settled on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final SettlementKernel kernel;
+
+    // Constructor using the common pool, which spans all cores
+    public SettlementService() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    // Constructor with an explicit pool
+    public SettlementService(ForkJoinPool pool) {
+        this(pool, SettlementKernel.best());
+    }
+
+    // Constructor with an explicit pool and kernel
+    public SettlementService(ForkJoinPool pool, SettlementKernel kernel) {
+        this.pool = pool;
+        this.kernel = kernel;
+    }
+
+    public SettlementKernel getKernel() {
+        return kernel;
+    }
+
+    /**
+     * Settle a batch of tickets against a draw.
+     * @param draw - the 20 drawn numbers
+     * @param tickets - the tickets to settle
+     * @return match counts and payouts indexed like the batch
+     */
+    public SettlementResult settleBatch(List<Integer> draw, TicketBatch tickets) {
+        SettlementResult result = new SettlementResult(tickets.size());
+        settleBatch(NumberMask.lowWord(draw), NumberMask.highWord(draw), tickets, result);
+        return result;
+    }
+
+    /**
+     * Settle a batch of tickets against a draw mask into a reusable result.
+     * @param drawLow - low word of the drawn numbers
+     * @param drawHigh - high word of the drawn numbers
+     * @param tickets - the tickets to settle
+     * @param result - the result to fill, grown if too small
+     */
+    public void settleBatch(long drawLow, long drawHigh, TicketBatch tickets, SettlementResult result) {
+        int size = tickets.size();
+        result.reset(size);
+        if (size <= PARALLEL_THRESHOLD) {
+            kernel.settle(drawLow, drawHigh, tickets, result, 0, size);
+        } else {
+            pool.invoke(new SettleTask(kernel, drawLow, drawHigh, tickets, result, 0, size));
+        }
+    }
+
+    /**
+     * Settle several batches against the same draw at once, such as the
+     * shards of a table. All pieces of all batches share the pool.
+     * @param drawLow - low word of the drawn numbers
+     * @param drawHigh - high word of the drawn numbers
+     * @param batches - the batches to settle
+     * @param results - the results to fill, indexed like the batches
+     */
+    public void settleBatches(long drawLow, long drawHigh, TicketBatch[] batches, SettlementResult[] results) {
+        if (batches.length != results.length) {
+            throw new IllegalArgumentException("Expected " + batches.length + " results but got " + results.length);
+        }
+        long total = 0;
+        for (int i = 0; i < batches.length; i++) {
+            results[i].reset(batches[i].size());
+            total += batches[i].size();
+        }
+        if (total <= PARALLEL_THRESHOLD) {
+            for (int i = 0; i < batches.length; i++) {
+                kernel.settle(drawLow, drawHigh, batches[i], results[i], 0, batches[i].size());
+            }
+            return;
+        }
+        List<SettleTask> tasks = new ArrayList<>(batches.length);
+        for (int i = 0; i < batches.length; i++) {
+            tasks.add(new SettleTask(kernel, drawLow, drawHigh, batches[i], results[i], 0, batches[i].size()));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Settle several batches against the same draw by revealing its numbers
+     * one at a time, so the live count of every reveal is known. Each batch
+     * has its own IncrementalSettlement; the batches share the pool.
+     * @param drawLow - low word of the drawn numbers
+     * @param drawHigh - high word of the drawn numbers
+     * @param batches - the batches to settle
+     * @param settlements - one settlement per batch, left holding the live counts of the draw
+     * @param winners - filled with the winners of each batch, indexed like the batches
+     */
+    public void settleIncrementally(long drawLow, long drawHigh, TicketBatch[] batches,
+                                    IncrementalSettlement[] settlements, WinningTickets[] winners) {
+        if (batches.length != settlements.length || batches.length != winners.length) {
+            throw new IllegalArgumentException("Expected " + batches.length + " settlements and winners but got "
+                    + settlements.length + " and " + winners.length);
+        }
+        long total = 0;
+        for (TicketBatch batch : batches) {
+            total += batch.size();
+        }
+        if (total <= PARALLEL_THRESHOLD) {
+            for (int i = 0; i < batches.length; i++) {
+                settlements[i].settle(batches[i], drawLow, drawHigh, winners[i]);
+            }
+            return;
+        }
+        List<RecursiveAction> tasks = new ArrayList<>(batches.length);
+        for (int i = 0; i < batches.length; i++) {
+            int batch = i;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    settlements[batch].settle(batches[batch], drawLow, drawHigh, winners[batch]);
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Fork/join action settling a range of tickets, split in halves until
+     * each piece is small enough to run sequentially.
+     */
+    private static final class SettleTask extends RecursiveAction {
+        private final SettlementKernel kernel;
+        private final long drawLow;
+        private final long drawHigh;
+        private final TicketBatch tickets;
+        private final SettlementResult result;
+        private final int from;
+        private final int to;
+
+        SettleTask(SettlementKernel kernel, long drawLow, long drawHigh, TicketBatch tickets, SettlementResult result, int from, int to) {
+            this.kernel = kernel;
+            this.drawLow = drawLow;
+            this.drawHigh = drawHigh;
+            this.tickets = tickets;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                kernel.settle(drawLow, drawHigh, tickets, result, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SettleTask(kernel, drawLow, drawHigh, tickets, result, from, mid),
+                    new SettleTask(kernel, drawLow, drawHigh, tickets, result, mid, to));
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package Service;
+
+import Model.GameDrawings;
+import Model.GameMode;
+import Model.GameState;
+import Model.NumberMask;
+import Model.SimulationResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * SimulationService runs headless Monte Carlo simulations of the Keno draw
+ * and payout logic to measure return-to-player for each game mode.
+ * It has no JavaFX dependency and can be started from the command line:
+ * <pre>java -cp target/classes Service.SimulationService [games] [seed]</pre>
+ * With --export=file the games of one mode are instead played through a
+ * RoundEngine and every round is written to a CSV file, or to a columnar
+ * file for any other extension:
+ * <pre>java -cp target/classes Service.SimulationService [games] [seed] --export=rounds.csv --mode=EIGHT_SPOT --drawings=FOUR_DRAWING</pre>
+ */
+public class SimulationService {
+    // Games simulated by one leaf task before the work is no longer split
+    private static final long LEAF_GAMES = 1L << 18;
+
+    private final ForkJoinPool pool;
+    private final long seed;
+
+    // Constructor using the common pool, which spans all cores
+    public SimulationService(long seed) {
+        this(ForkJoinPool.commonPool(), seed);
+    }
+
+    // Constructor with an explicit pool
+    public SimulationService(ForkJoinPool pool, long seed) {
+        this.pool = pool;
+        this.seed = seed;
+    }
+
+    /**
+     * Simulate a number of games for one mode and drawings combination.
+     * @param gameMode - the game mode to simulate
+     * @param gameDrawings - the number of drawings per game
+     * @param games - the number of games to simulate
+     * @return the simulation result
+     */
+    public SimulationResult simulate(GameMode gameMode, GameDrawings gameDrawings, long games) {
+        long start = System.nanoTime();
+        SimulationTask task = new SimulationTask(gameMode.getMaxSpots(), gameDrawings.getMaxDrawings(), games, new SplittableRandom(seed));
+        long[] hitCounts = pool.invoke(task);
+        return new SimulationResult(gameMode, gameDrawings, games, hitCounts, System.nanoTime() - start);
+    }
+
+    /**
+     * Simulate every game mode and drawings combination.
+     * @param games - the number of games to simulate for each combination
+     * @return list of simulation results
+     */
+    public List<SimulationResult> simulateAll(long games) {
+        List<SimulationResult> results = new ArrayList<>();
+        for (GameMode gameMode : GameMode.values()) {
+            for (GameDrawings gameDrawings : GameDrawings.values()) {
+                results.add(simulate(gameMode, gameDrawings, games));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Play games of one mode through a RoundEngine and stream every round to
+     * an exporter. Each game gets a fresh quick pick. The games are played on
+     * the calling thread, so the same seed always writes the same rows.
+     * @param gameMode - the game mode to play
+     * @param gameDrawings - the number of drawings per game
+     * @param games - the number of games to play
+     * @param exporter - receives every round, left open for the caller
+     * @return the simulation result of the exported rounds
+     * @throws IOException if the exporter cannot write
+     */
+    public SimulationResult export(GameMode gameMode, GameDrawings gameDrawings, long games, RoundExporter exporter) throws IOException {
+        long start = System.nanoTime();
+        GameState gameState = new GameState();
+        GameService gameService = new GameService(gameState, new SeededRandomSource(seed));
+        RoundEngine roundEngine = new RoundEngine(gameService, gameState);
+        long[] hitCounts = new long[gameMode.getMaxSpots() + 1];
+        exporter.setGameService(gameService);
+        roundEngine.addListener(exporter);
+        roundEngine.addListener(new RoundListener() {
+            @Override
+            public void onRoundSettled(int round, int matches, int prize, long matchedLow, long matchedHigh) {
+                hitCounts[matches]++;
+            }
+        });
+        gameState.setGameMode(gameMode);
+        gameState.setGameDrawings(gameDrawings);
+        try {
+            for (long game = 0; game < games; game++) {
+                gameService.randomSelectNumbersForUser();
+                roundEngine.playGame();
+                // The export holds every round, so the summaries are not kept in memory
+                gameState.getGameHistories().clear();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new SimulationResult(gameMode, gameDrawings, games, hitCounts, System.nanoTime() - start);
+    }
+
+    /**
+     * Open an exporter for a file, CSV for a .csv file and columnar otherwise.
+     * @param file - the file to write
+     * @return the exporter
+     * @throws IOException if the file cannot be created
+     */
+    public static RoundExporter openExporter(Path file) throws IOException {
+        if (file.getFileName().toString().endsWith(".csv")) {
+            return CsvRoundExporter.open(file);
+        }
+        return ColumnarRoundExporter.open(file);
+    }
+
+    // Command line entry point for batch servers
+    public static void main(String[] args) throws IOException {
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                positional.add(arg);
+            }
+        }
+        long games = positional.size() > 0 ? Long.parseLong(positional.get(0)) : 10_000_000L;
+        long seed = positional.size() > 1 ? Long.parseLong(positional.get(1)) : System.nanoTime();
+        String export = option(args, "export", null);
+        if (export != null) {
+            GameMode gameMode = GameMode.valueOf(option(args, "mode", GameMode.EIGHT_SPOT.name()));
+            GameDrawings gameDrawings = GameDrawings.valueOf(option(args, "drawings", GameDrawings.FOUR_DRAWING.name()));
+            System.out.println("Seed: " + seed + ", exporting to " + export);
+            try (RoundExporter exporter = openExporter(Paths.get(export))) {
+                System.out.println(new SimulationService(seed).export(gameMode, gameDrawings, games, exporter).toReport());
+            }
+            return;
+        }
+        System.out.println("Seed: " + seed + ", parallelism: " + ForkJoinPool.commonPool().getParallelism());
+        for (SimulationResult result : new SimulationService(seed).simulateAll(games)) {
+            System.out.println(result.toReport());
+        }
+    }
+
+    /**
+     * Get an option given as --name=value.
+     * @param args - command line arguments
+     * @param name - option name without dashes
+     * @param defaultValue - value when the option is absent
+     * @return the option value
+     */
+    private static String option(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Fork/join task simulating a range of games. Each task owns its own
+     * SplittableRandom stream, split from its parent before forking, which
+     * seeds the task's DrawGenerator.
+     */
+    private static final class SimulationTask extends RecursiveTask<long[]> {
+        private final int spots;
+        private final int drawings;
+        private final long games;
+        private final SplittableRandom random;
+
+        SimulationTask(int spots, int drawings, long games, SplittableRandom random) {
+            this.spots = spots;
+            this.drawings = drawings;
+            this.games = games;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (games <= LEAF_GAMES) {
+                return simulateGames();
+            }
+            long half = games >>> 1;
+            SimulationTask left = new SimulationTask(spots, drawings, half, random.split());
+            SimulationTask right = new SimulationTask(spots, drawings, games - half, random);
+            left.fork();
+            long[] counts = right.compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+
+        /**
+         * Simulate this task's games sequentially.
+         * The draw is uniform, so one random ticket per task gives the same
+         * hit distribution as a fresh ticket per game.
+         * @return histogram of hits per draw
+         */
+        private long[] simulateGames() {
+            long[] hitCounts = new long[spots + 1];
+            DrawGenerator generator = new DrawGenerator(new SplittableRandomSource(random));
+            generator.draw(spots, 0L, 0L);
+            long pickLow = generator.getLowMask();
+            long pickHigh = generator.getHighMask();
+            for (long game = 0; game < games; game++) {
+                for (int round = 0; round < drawings; round++) {
+                    generator.draw();
+                    hitCounts[NumberMask.matchCount(pickLow, pickHigh, generator.getLowMask(), generator.getHighMask())]++;
+                }
+            }
+            return hitCounts;
+        }
+    }
+}
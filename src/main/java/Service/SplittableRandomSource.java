@@ -0,0 +1,34 @@
+package Service;
+
+import java.util.SplittableRandom;
+
+/**
+ * SplittableRandomSource is the default high-throughput source. It is not
+ * thread-safe; parallel workers should each take their own stream via split().
+ */
+public class SplittableRandomSource implements RandomSource {
+    private final SplittableRandom random;
+
+    // Constructor with a randomly seeded stream
+    public SplittableRandomSource() {
+        this(new SplittableRandom());
+    }
+
+    // Constructor wrapping an existing stream
+    public SplittableRandomSource(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public long nextSeed() {
+        return random.nextLong();
+    }
+
+    /**
+     * Create an independent source for another worker.
+     * @return a new source on a split stream
+     */
+    public SplittableRandomSource split() {
+        return new SplittableRandomSource(random.split());
+    }
+}
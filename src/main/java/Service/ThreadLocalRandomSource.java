@@ -0,0 +1,16 @@
+package Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ThreadLocalRandomSource draws seeds from the calling thread's
+ * ThreadLocalRandom, so one instance can be shared by any number of threads
+ * without contention.
+ */
+public class ThreadLocalRandomSource implements RandomSource {
+
+    @Override
+    public long nextSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+}
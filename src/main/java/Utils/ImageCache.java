@@ -0,0 +1,53 @@
+package Utils;
+
+import javafx.scene.image.Image;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Image cache utility class
+ * Decodes each image resource once and shares it between views and game sessions.
+ * Images may be decoded on a background thread and used later on the JavaFX thread.
+ */
+public class ImageCache {
+    // Icons used by the welcome and game views
+    public static final String COINS_ICON = "/icons/coins.gif";
+    public static final String SLOT_ICON = "/icons/slot.gif";
+    public static final String START_ICON = "/icons/start.gif";
+
+    private static final Map<String, Image> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Get a decoded image, loading it on first use.
+     * @param path - resource path of the image
+     * @return the shared image
+     */
+    public static Image get(String path) {
+        return CACHE.computeIfAbsent(path, ImageCache::load);
+    }
+
+    /**
+     * Decode images ahead of time, for example from a startup thread.
+     * @param paths - resource paths of the images
+     */
+    public static void preload(String... paths) {
+        for (String path : paths) {
+            get(path);
+        }
+    }
+
+    /**
+     * Load an image resource.
+     * @param path - resource path of the image
+     * @return the decoded image
+     */
+    private static Image load(String path) {
+        InputStream stream = ImageCache.class.getResourceAsStream(path);
+        if (stream == null) {
+            throw new IllegalArgumentException("Image not found: " + path);
+        }
+        return new Image(stream);
+    }
+}
@@ -0,0 +1,84 @@
+package Utils;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Startup profiler utility class
+ * Records named startup milestones relative to JVM start, including the
+ * first frame each window puts on screen. Run with -Dkeno.startupReport=true
+ * to print the timing report once the game view is interactive.
+ */
+public class StartupProfiler {
+    public static final String REPORT_PROPERTY = "keno.startupReport";
+    // JVM start on the System.nanoTime() clock
+    private static final long JVM_START_NANOS = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+    private static final Map<String, Long> MARKS = new LinkedHashMap<>();
+
+    /**
+     * Record a milestone at the current time. Only the first mark of a name is kept.
+     * @param name - milestone name
+     */
+    public static synchronized void mark(String name) {
+        MARKS.putIfAbsent(name, System.nanoTime());
+    }
+
+    /**
+     * Get the time of a milestone.
+     * @param name - milestone name
+     * @return milliseconds since JVM start, or -1 if not recorded
+     */
+    public static synchronized long getMillis(String name) {
+        Long nanos = MARKS.get(name);
+        return nanos == null ? -1 : (nanos - JVM_START_NANOS) / 1_000_000L;
+    }
+
+    /**
+     * Run an action once a scene has rendered its first frame. The action runs
+     * on the JavaFX thread during the pulse after the first one that found the
+     * scene's window showing, so that frame has been drawn.
+     * @param scene - the scene to watch
+     * @param action - the action to run
+     */
+    public static void afterFirstFrame(Scene scene, Runnable action) {
+        new AnimationTimer() {
+            private int shownPulses;
+
+            @Override
+            public void handle(long now) {
+                if (scene.getWindow() == null || !scene.getWindow().isShowing()) {
+                    return;
+                }
+                if (++shownPulses == 2) {
+                    stop();
+                    action.run();
+                }
+            }
+        }.start();
+    }
+
+    /**
+     * Build the timing report of all milestones.
+     * @return report text, one milestone per line
+     */
+    public static synchronized String getReport() {
+        StringBuilder sb = new StringBuilder("Startup timing (ms since JVM start):\n");
+        for (String name : MARKS.keySet()) {
+            sb.append(String.format("  %-28s %6d\n", name, getMillis(name)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Print the timing report if it was requested with the report property.
+     */
+    public static void printReportIfEnabled() {
+        if (Boolean.getBoolean(REPORT_PROPERTY)) {
+            System.out.print(getReport());
+        }
+    }
+}
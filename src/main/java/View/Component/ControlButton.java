@@ -16,31 +16,22 @@ public class ControlButton extends StyledButton {
             this.buttonType = buttonType;
         }
         initializeStyles();
-        applyCurrentStyles();
     }
 
 
     @Override
     protected void initializeStyles() {
-        if (buttonType.equals("MENU")) {
-            this.normalStyle = ButtonStyles.getGeneralButtonStyle(styleType, "normal");
-            this.hoverStyle = ButtonStyles.getGeneralButtonStyle(styleType, "hover");
-            this.pressedStyle = ButtonStyles.getGeneralButtonStyle(styleType, "pressed");
-        } else if (buttonType.equals("CONTROL")) {
-            this.normalStyle = ButtonStyles.getControlButtonStyle(styleType, "normal");
-            this.hoverStyle = ButtonStyles.getControlButtonStyle(styleType, "hover");
-            this.pressedStyle = ButtonStyles.getControlButtonStyle(styleType, "pressed");
-        }
+        String sizeClass = buttonType.equals("MENU") ? ButtonStyles.GENERAL_BUTTON_CLASS : ButtonStyles.CONTROL_BUTTON_CLASS;
+        getStyleClass().addAll(sizeClass, ButtonStyles.getStyleClass(styleType));
     }
 
+    // Hover and pressed looks follow the pseudo-classes, nothing to re-apply
     @Override
     public void updateState() {
-        applyCurrentStyles();
     }
 
     @Override
     public void reset() {
-        applyCurrentStyles();
     }
 
     @Override
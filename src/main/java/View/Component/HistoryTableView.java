@@ -0,0 +1,235 @@
+package View.Component;
+
+import Service.HistorySource;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A virtualized table over a HistorySource. The table only asks for the rows
+ * it displays, and rows are loaded a page at a time into a small LRU cache,
+ * so memory and render time do not grow with the length of the history.
+ */
+public class HistoryTableView extends TableView<HistoryTableView.HistoryRow> {
+    // Rows loaded per page and pages kept in memory
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 8;
+
+    private final PagedHistoryList rows;
+    private final TableColumn<HistoryRow, Long> idColumn;
+    private final TableColumn<HistoryRow, Integer> roundsColumn;
+    private final TableColumn<HistoryRow, Integer> matchesColumn;
+    private final TableColumn<HistoryRow, Long> winningsColumn;
+
+    // Constructor
+    public HistoryTableView(HistorySource source) {
+        this.rows = new PagedHistoryList(source);
+
+        idColumn = createColumn("ID", 80);
+        idColumn.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getId()));
+        roundsColumn = createColumn("Total Rounds", 110);
+        roundsColumn.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getRounds()));
+        matchesColumn = createColumn("Total Matches", 110);
+        matchesColumn.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getMatches()));
+        winningsColumn = createColumn("Total Winnings", 130);
+        winningsColumn.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().getPrize()));
+        winningsColumn.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(Long prize, boolean empty) {
+                super.updateItem(prize, empty);
+                setText(empty || prize == null ? null : "$" + prize);
+            }
+        });
+
+        getColumns().add(idColumn);
+        getColumns().add(roundsColumn);
+        getColumns().add(matchesColumn);
+        getColumns().add(winningsColumn);
+        setPlaceholder(new Label("No game history available."));
+        setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        setFixedCellSize(28);
+
+        // Sort through the source's keys instead of reordering the rows list
+        setSortPolicy(table -> {
+            applySort();
+            return true;
+        });
+        setItems(FXCollections.observableList(rows));
+    }
+
+    /**
+     * Creates a table column with a preferred width.
+     * @param title - column header
+     * @param width - preferred width
+     * @return the column
+     */
+    private static <T> TableColumn<HistoryRow, T> createColumn(String title, double width) {
+        TableColumn<HistoryRow, T> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        return column;
+    }
+
+    /**
+     * Applies the current sort order of the table to the paged list.
+     */
+    private void applySort() {
+        if (getSortOrder().isEmpty()) {
+            rows.sortById(false);
+        } else {
+            TableColumn<HistoryRow, ?> column = getSortOrder().get(0);
+            boolean descending = column.getSortType() == TableColumn.SortType.DESCENDING;
+            if (column == idColumn) {
+                rows.sortById(descending);
+            } else if (column == roundsColumn) {
+                rows.sortByKey(rows.source::getRounds, descending);
+            } else if (column == matchesColumn) {
+                rows.sortByKey(rows.source::getMatches, descending);
+            } else {
+                rows.sortByKey(rows.source::getPrize, descending);
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * A row of the history table.
+     */
+    public static final class HistoryRow {
+        private final long id;
+        private final int rounds;
+        private final int matches;
+        private final long prize;
+
+        HistoryRow(long id, int rounds, int matches, long prize) {
+            this.id = id;
+            this.rounds = rounds;
+            this.matches = matches;
+            this.prize = prize;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        public int getMatches() {
+            return matches;
+        }
+
+        public long getPrize() {
+            return prize;
+        }
+    }
+
+    /**
+     * Key extractor reading one column of the source by record index.
+     */
+    private interface KeyReader {
+        long read(long index);
+    }
+
+    /**
+     * A read-only list that materializes rows on demand, one page at a time.
+     * Its size is fixed when the table opens; ID order needs no extra memory,
+     * other orders keep one int per row for the sorted permutation.
+     */
+    private static final class PagedHistoryList extends AbstractList<HistoryRow> {
+        private final HistorySource source;
+        private final int size;
+        private final Map<Integer, HistoryRow[]> pages = new LinkedHashMap<Integer, HistoryRow[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, HistoryRow[]> eldest) {
+                return size() > MAX_CACHED_PAGES;
+            }
+        };
+        private int[] order;
+        private boolean descending;
+
+        PagedHistoryList(HistorySource source) {
+            this.source = source;
+            this.size = (int) Math.min(source.size(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public HistoryRow get(int position) {
+            if (position < 0 || position >= size) {
+                throw new IndexOutOfBoundsException("Row " + position + " of " + size);
+            }
+            HistoryRow[] page = pages.computeIfAbsent(position / PAGE_SIZE, this::loadPage);
+            return page[position % PAGE_SIZE];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Loads the rows of one page of display positions.
+         * @param pageIndex - index of the page
+         * @return rows of the page
+         */
+        private HistoryRow[] loadPage(int pageIndex) {
+            int start = pageIndex * PAGE_SIZE;
+            HistoryRow[] page = new HistoryRow[Math.min(PAGE_SIZE, size - start)];
+            for (int i = 0; i < page.length; i++) {
+                long index = recordIndex(start + i);
+                page[i] = new HistoryRow(index + 1, source.getRounds(index), source.getMatches(index), source.getPrize(index));
+            }
+            return page;
+        }
+
+        /**
+         * Maps a display position to a record index in the source.
+         * @param position - display position
+         * @return record index
+         */
+        private long recordIndex(int position) {
+            int sortedPosition = descending ? size - 1 - position : position;
+            return order == null ? sortedPosition : order[sortedPosition];
+        }
+
+        /**
+         * Sorts by record ID, which is the natural order of the source.
+         * @param descending - true for newest first
+         */
+        void sortById(boolean descending) {
+            this.order = null;
+            this.descending = descending;
+            pages.clear();
+        }
+
+        /**
+         * Sorts by a column of the source, ties broken by record ID.
+         * Keys are packed with the record index into longs and sorted as primitives.
+         * @param keyReader - reads the sort key of a record
+         * @param descending - true for largest first
+         */
+        void sortByKey(KeyReader keyReader, boolean descending) {
+            long[] packed = new long[size];
+            for (int i = 0; i < size; i++) {
+                long key = Math.min(Math.max(keyReader.read(i), 0), Integer.MAX_VALUE);
+                packed[i] = (key << 32) | i;
+            }
+            Arrays.sort(packed);
+            int[] sorted = new int[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = (int) packed[i];
+            }
+            this.order = sorted;
+            this.descending = descending;
+            pages.clear();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package View.Component;
 
 import Utils.ButtonStyles;
+import javafx.css.PseudoClass;
 import javafx.scene.control.Button;
 
 /**
@@ -12,6 +13,11 @@ public class NumberButton extends Button implements SelectableButton {
         UNSELECTED, USER_SELECTED, SYSTEM_SELECTED, BOTH_SELECTED
     }
 
+    // Pseudo-classes of the number-button style class, one per selected state
+    private static final PseudoClass USER_SELECTED = PseudoClass.getPseudoClass("user-selected");
+    private static final PseudoClass SYSTEM_SELECTED = PseudoClass.getPseudoClass("system-selected");
+    private static final PseudoClass BOTH_SELECTED = PseudoClass.getPseudoClass("both-selected");
+
     private final int number;
     private ButtonState currentState;
     private boolean selectable = true;
@@ -24,27 +30,10 @@ public class NumberButton extends Button implements SelectableButton {
         this.currentState = ButtonState.UNSELECTED;
 
         this.setPrefSize(50, 50);
+        // Hover is handled by the stylesheet's :hover rules
+        this.getStylesheets().add(ButtonStyles.STYLESHEET);
+        this.getStyleClass().add(ButtonStyles.NUMBER_BUTTON_CLASS);
         updateState();
-        setupMouseEvents();
-    }
-
-    /**
-     * Sets up mouse event handlers to change button style on hover.
-     */
-    private void setupMouseEvents() {
-        this.setOnMouseEntered(e -> {
-            ButtonStyles.NumberButtonState styleState = (ButtonStyles.NumberButtonState) this.getUserData();
-            if (styleState != null) {
-                this.setStyle(ButtonStyles.getNumberButtonStyle(styleState, true));
-            }
-        });
-
-        this.setOnMouseExited(e -> {
-            ButtonStyles.NumberButtonState styleState = (ButtonStyles.NumberButtonState) this.getUserData();
-            if (styleState != null) {
-                this.setStyle(ButtonStyles.getNumberButtonStyle(styleState, false));
-            }
-        });
     }
 
     /**
@@ -92,25 +81,13 @@ public class NumberButton extends Button implements SelectableButton {
 
     /**
      * Updates the visual state of the button based on its current selection state.
+     * Only pseudo-classes change, the stylesheet itself is parsed once.
      */
     @Override
     public void updateState() {
-        ButtonStyles.NumberButtonState styleState;
-        switch (currentState) {
-            case USER_SELECTED:
-                styleState = ButtonStyles.NumberButtonState.USER_SELECTED;
-                break;
-            case SYSTEM_SELECTED:
-                styleState = ButtonStyles.NumberButtonState.SYSTEM_SELECTED;
-                break;
-            case BOTH_SELECTED:
-                styleState = ButtonStyles.NumberButtonState.BOTH_SELECTED;
-                break;
-            default:
-                styleState = ButtonStyles.NumberButtonState.UNSELECTED;
-        }
-        this.setStyle(ButtonStyles.getNumberButtonStyle(styleState, false));
-        this.setUserData(styleState);
+        this.pseudoClassStateChanged(USER_SELECTED, currentState == ButtonState.USER_SELECTED);
+        this.pseudoClassStateChanged(SYSTEM_SELECTED, currentState == ButtonState.SYSTEM_SELECTED);
+        this.pseudoClassStateChanged(BOTH_SELECTED, currentState == ButtonState.BOTH_SELECTED);
     }
 
     /**
@@ -3,6 +3,7 @@ package View;
 import Utils.MenuCallback;
 import View.Component.*;
 import Utils.ButtonStyles;
+import Utils.ImageCache;
 import Utils.ThemeStyles;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -109,7 +110,7 @@ public class GameView {
         modeSelector = createModeButton();
 
         // Create Slot Icons
-        Image slotIcon = new Image(getClass().getResourceAsStream("/icons/slot.gif"));
+        Image slotIcon = ImageCache.get(ImageCache.SLOT_ICON);
         slotIconView = new ImageView(slotIcon);
         slotIconView.setScaleX(-1);
         slotIconView2 = new ImageView(slotIcon);
@@ -185,8 +186,7 @@ public class GameView {
         playButton = new ControlButton("Play", ButtonStyles.ButtonType.SUCCESS, "CONTROL");
         playButton.setPrefWidth(400);
         playButton.setPrefHeight(98);
-        playButton.setStyle(playButton.getStyle() + "-fx-font-size: 32px;");
-        Image startIcon = new Image(getClass().getResourceAsStream("/icons/start.gif"));
+        Image startIcon = ImageCache.get(ImageCache.START_ICON);
         ImageView startIconView = new ImageView(startIcon);
         playButton.setGraphic(startIconView);
         playButton.setContentDisplay(ContentDisplay.LEFT);
@@ -2,13 +2,17 @@ package View;
 
 import View.Component.ButtonBuilder;
 import View.Component.ControlButton;
+import View.Component.HistoryTableView;
 import Model.GameMode;
+import Model.OddsCalculator;
 import Model.PrizeTable;
+import Service.HistorySource;
 import Utils.ButtonStyles;
 import Utils.ThemeStyles;
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Label;
@@ -22,6 +26,7 @@ import javafx.stage.StageStyle;
 import javafx.scene.effect.GaussianBlur;
 
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.prefs.Preferences;
@@ -35,6 +40,8 @@ public class InfoWindow {
     public static final String PREFS_KEY_SHOW_RULES = "show_rules";
     public static final String PREFS_KEY_SHOW_ODDS = "show_odds";
     private static Stage window;
+    // Prize table text per mode, rendered once from the computed odds
+    private static final Map<GameMode, String> ODDS_CONTENT = createOddsContent();
 
     /**
      * Create and display an information window.
@@ -50,6 +57,23 @@ public class InfoWindow {
      * @param root - the root pane to apply blur effect
      */
     public static void createInfoWindow(int width, int height, String title, String content, String themeColor, String prefsKey, boolean showCheckBox, boolean wait, HBox buttonArea, Pane root) {
+        createInfoWindow(width, height, title, createContentBox(content), themeColor, prefsKey, showCheckBox, wait, buttonArea, root);
+    }
+
+    /**
+     * Create and display an information window around an arbitrary content node.
+     * @param width - window width
+     * @param height - window height
+     * @param title - window title
+     * @param contentBox - main content node
+     * @param themeColor - title color
+     * @param prefsKey - preference key for "Don't show again" checkbox
+     * @param showCheckBox - whether to show the checkbox
+     * @param wait - whether to block interaction with other windows
+     * @param buttonArea - optional button area at the bottom
+     * @param root - the root pane to apply blur effect
+     */
+    public static void createInfoWindow(int width, int height, String title, Node contentBox, String themeColor, String prefsKey, boolean showCheckBox, boolean wait, HBox buttonArea, Pane root) {
         window = new Stage();
         window.setTitle(title);
         window.setWidth(width);
@@ -66,8 +90,6 @@ public class InfoWindow {
                 "-fx-font-weight: bold; " +
                 "-fx-text-fill: " + themeColor + ";");
 
-        VBox contentBox = createContentBox(content);
-
         // Add "Don't show again" checkbox if needed
         CheckBox dontShowAgainCheckBox = showCheckBox ? createCheckBox(prefsKey, window) : null;
         if (dontShowAgainCheckBox != null) {
@@ -190,33 +212,48 @@ public class InfoWindow {
             return;
         }
 
-        StringBuilder sb = new StringBuilder();
-        int spotsPlayed = mode.getMaxSpots();
-        sb.append("Current Mode: ");
-        sb.append(mode.getDisplayName());
-        sb.append("\n\n");
-        sb.append("Payouts for a $1.00 bet:\n");
-        sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━\n\n");
-        var prizeTable = PrizeTable.getPrizeTableForSpots(spotsPlayed);
-        if (prizeTable.isEmpty()) {
-            sb.append("No payout information available for this game mode.\n");
-        } else {
-            sb.append("   Match              Prize   \n");
-            sb.append("══════════════════════════\n");
-            prizeTable.entrySet().stream()
-                    .sorted(Comparator.comparingInt(Map.Entry::getKey))
-                    .forEach(entry -> {
-                        int matchCount = entry.getKey();
-                        int payout = entry.getValue();
-
-                        String prizeStr = formatPrize(payout);
-                        sb.append(String.format("     %2d                     %-10s\n", matchCount, prizeStr));
-                    });
+        String content = ODDS_CONTENT.get(mode);
+
+        createInfoWindow(400, 550, "Prize Table", content, ThemeStyles.GOLD_LIGHT, PREFS_KEY_SHOW_ODDS, autoShow, false, null, root);
+    }
+
+    /**
+     * Render the prize table text for every game mode.
+     * @return map of game mode to prize table text
+     */
+    private static Map<GameMode, String> createOddsContent() {
+        Map<GameMode, String> contents = new EnumMap<>(GameMode.class);
+        for (GameMode mode : GameMode.values()) {
+            StringBuilder sb = new StringBuilder();
+            int spotsPlayed = mode.getMaxSpots();
+            sb.append("Current Mode: ");
+            sb.append(mode.getDisplayName());
+            sb.append("\n\n");
+            sb.append("Payouts for a $1.00 bet:\n");
             sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━\n\n");
-            sb.append(String.format("Overall Odds: 1 in %.2f\n", PrizeTable.getOdds(spotsPlayed)));
+            var prizeTable = PrizeTable.getPrizeTableForSpots(spotsPlayed);
+            if (prizeTable.isEmpty()) {
+                sb.append("No payout information available for this game mode.\n");
+            } else {
+                sb.append("   Match        Prize        Odds\n");
+                sb.append("══════════════════════════\n");
+                prizeTable.entrySet().stream()
+                        .sorted(Comparator.comparingInt(Map.Entry::getKey))
+                        .forEach(entry -> {
+                            int matchCount = entry.getKey();
+                            int payout = entry.getValue();
+                            double odds = 1.0 / OddsCalculator.getHitProbability(spotsPlayed, matchCount);
+
+                            String prizeStr = formatPrize(payout);
+                            sb.append(String.format("     %2d        %-10s   1 in %,.2f\n", matchCount, prizeStr, odds));
+                        });
+                sb.append("━━━━━━━━━━━━━━━━━━━━━━━━━━\n\n");
+                sb.append(String.format("Overall Odds: 1 in %.2f\n", PrizeTable.getOdds(spotsPlayed)));
+                sb.append(String.format("Expected Return: %.2f%%\n", OddsCalculator.getExpectedPayout(spotsPlayed) * 100));
+            }
+            contents.put(mode, sb.toString());
         }
-
-        createInfoWindow(400, 550, "Prize Table", sb.toString(), ThemeStyles.GOLD_LIGHT, PREFS_KEY_SHOW_ODDS, autoShow, false, null, root);
+        return contents;
     }
 
     /**
@@ -251,11 +288,16 @@ public class InfoWindow {
 
     /**
      * Show the game history window with past game summaries.
-     * @param historyContent - formatted history text
+     * Rows are loaded from the source on demand as the table scrolls.
+     * @param historySource - source of recorded games
      * @param root - the root pane to apply blur effect
      */
-    public static void showHistory(String historyContent, VBox root) {
-        createInfoWindow(500, 600, "Game History", historyContent, ThemeStyles.GOLD_DARK, null, false, false, null, root);
+    public static void showHistory(HistorySource historySource, VBox root) {
+        HistoryTableView historyTable = new HistoryTableView(historySource);
+        historyTable.setPrefHeight(480);
+        VBox contentBox = new VBox(historyTable);
+        contentBox.setStyle("-fx-padding: 0 20 0 20;");
+        createInfoWindow(500, 600, "Game History", contentBox, ThemeStyles.GOLD_DARK, null, false, false, null, root);
     }
 
     /**
@@ -5,8 +5,12 @@ import View.Component.ButtonBuilder;
 import View.Component.LayoutBuilder;
 import View.Component.MenuFactory;
 import Model.GameMode;
+import Service.AudioService;
 import Utils.ButtonStyles;
+import Utils.ImageCache;
+import Utils.StartupProfiler;
 import Utils.ThemeStyles;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -27,13 +31,47 @@ public class WelcomeView {
     private MenuBar menuBar;
     private GameController gameController;
     private GameView gameView;
+    // Game view built ahead of time, used by the next start
+    private GameView preparedGameView;
     BorderPane root;
 
     // Constructor to initialize the WelcomeView
     public WelcomeView() {
+        // Decode sounds and images in the background while the welcome screen is built and shown
+        AudioService.getInstance().preload();
+        startPrewarm();
         initializeStage();
     }
 
+    /**
+     * Starts a background thread that loads what the game view needs,
+     * so that building it later only creates nodes.
+     */
+    private void startPrewarm() {
+        Thread prewarm = new Thread(() -> {
+            try {
+                ImageCache.preload(ImageCache.COINS_ICON, ImageCache.SLOT_ICON, ImageCache.START_ICON);
+                // Initialize the prize tables, odds and window texts off the JavaFX thread
+                Class.forName(InfoWindow.class.getName(), true, WelcomeView.class.getClassLoader());
+                StartupProfiler.mark("prewarm done");
+            } catch (Exception e) {
+                System.err.println("Error pre-warming game: " + e.getMessage());
+            }
+        }, "startup-prewarm");
+        prewarm.setDaemon(true);
+        prewarm.start();
+    }
+
+    /**
+     * Builds the game view for the next start while the welcome screen is idle.
+     */
+    private void prepareGameView() {
+        if (preparedGameView == null) {
+            preparedGameView = new GameView();
+            StartupProfiler.mark("game view prepared");
+        }
+    }
+
     /**
      * Initializes the main stage and its components.
      */
@@ -74,7 +112,7 @@ public class WelcomeView {
         gameTitle.setPadding(new Insets(0, 0, 20, 0));
 
         // Load game icon image
-        Image gameIcon = new Image(getClass().getResourceAsStream("/icons/coins.gif"));
+        Image gameIcon = ImageCache.get(ImageCache.COINS_ICON);
         ImageView gameIconView = new ImageView(gameIcon);
         ImageView gameIconView2 = new ImageView(gameIcon);
         gameIconView2.setScaleX(-1);
@@ -115,12 +153,19 @@ public class WelcomeView {
 
     /**
      * Handles the action when the Start button is clicked.
-     * Initializes the GameView and GameController, shows the game view, and hides the welcome stage.
+     * Uses the prepared GameView when there is one, initializes the GameController,
+     * shows the game view, and hides the welcome stage.
      */
     private void handleStart() {
-        gameView = new GameView();
+        StartupProfiler.mark("start clicked");
+        gameView = preparedGameView != null ? preparedGameView : new GameView();
+        preparedGameView = null;
         gameController = new GameController(gameView, this);
         gameView.show();
+        StartupProfiler.afterFirstFrame(gameView.getScene(), () -> {
+            StartupProfiler.mark("game first frame");
+            StartupProfiler.printReportIfEnabled();
+        });
         stage.hide();
     }
 
@@ -140,6 +185,10 @@ public class WelcomeView {
      */
     public void show() {
         stage.show();
+        StartupProfiler.afterFirstFrame(stage.getScene(), () -> {
+            StartupProfiler.mark("welcome first frame");
+            Platform.runLater(this::prepareGameView);
+        });
     }
 
 
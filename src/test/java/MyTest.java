@@ -1,19 +1,83 @@
 import static org.junit.jupiter.api.Assertions.*;
 
 import Model.GameDrawings;
+import Model.GameEvent;
+import Model.GameEventLog;
+import Model.GameHistory;
 import Model.GameMode;
+import Model.GameSnapshot;
 import Model.GameState;
+import Model.NumberMask;
+import Model.OddsCalculator;
+import Model.PrizeTable;
+import Model.SettlementResult;
+import Model.SimulationResult;
+import Model.TableDrawResult;
+import Model.TicketBatch;
+import Model.TicketBitmap;
+import Model.TicketIndex;
+import Model.TicketStore;
+import Model.WinningTickets;
+import Service.DrawGenerator;
 import Service.GameService;
+import Service.ColumnarRoundExporter;
+import Service.ColumnarRoundReader;
+import Service.CsvRoundExporter;
+import Service.DrawRing;
+import Service.DrawScript;
+import Service.ExposureTracker;
+import Service.HistoryJournal;
+import Service.IncrementalSettlement;
+import Service.KenoTable;
+import Service.RandomSource;
+import Service.RoundEngine;
+import Service.RoundExporter;
+import Service.SeededRandomSource;
+import Service.SettlementKernel;
+import Service.SettlementService;
+import Service.SimulationService;
+import Server.DrawBroadcaster;
+import Server.GameServer;
+import Server.LoadReport;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class MyTest {
 
@@ -124,6 +188,47 @@ class MyTest {
         }
     }
 
+    @Test
+    @DisplayName("Test DrawGenerator draws are replayable from their seed")
+    void testDrawGeneratorReplay() {
+        DrawGenerator generator = new DrawGenerator(new SeededRandomSource(42));
+        long seed = generator.draw();
+        List<Integer> first = generator.getNumbers();
+        assertEquals(20, NumberMask.size(generator.getLowMask(), generator.getHighMask()));
+        generator.draw();
+        generator.replay(seed);
+        assertEquals(first, generator.getNumbers());
+        assertEquals(seed, new SeededRandomSource(42).nextSeed());
+    }
+
+    @Test
+    @DisplayName("Test a quick pick keeps the last system draw replayable")
+    void testQuickPickKeepsSystemDrawSeed() {
+        GameState state = new GameState();
+        state.setGameMode(GameMode.EIGHT_SPOT);
+        GameService seeded = new GameService(state, new SeededRandomSource(7));
+        List<Integer> drawn = seeded.randomSelectNumbersForSystem();
+        long seed = seeded.getLastDrawSeed();
+        long drawLow = seeded.getLastDrawLowMask();
+        seeded.randomSelectNumbersForUser();
+        assertEquals(seed, seeded.getLastDrawSeed());
+        assertEquals(drawLow, seeded.getLastDrawLowMask());
+        assertEquals(drawn, seeded.replaySystemDraw(seeded.getLastDrawSeed()));
+    }
+
+    @Test
+    @DisplayName("Test randomSelectNumbersForSystem includes picks in cheat mode")
+    void testRandomSelectNumbersForSystemCheatMode() {
+        gameState.setGameMode(GameMode.TEN_SPOT);
+        gameService.randomSelectNumbersForUser();
+        gameState.setCheatMode(true);
+        List<Integer> drawn = gameService.randomSelectNumbersForSystem();
+        gameState.setCheatMode(false);
+        assertEquals(20, drawn.size());
+        assertTrue(drawn.containsAll(gameState.getSelectedNumbers()));
+        assertEquals(20, drawn.stream().distinct().count());
+    }
+
     @Test
     @DisplayName("Test getMatchedNumbers method")
     void testGetMatchedNumbers() {
@@ -146,6 +251,52 @@ class MyTest {
         assertEquals(0, matchedNumbers.size());
     }
 
+    @Test
+    @DisplayName("Test NumberMask match count across both words")
+    void testNumberMaskMatchCount() {
+        List<Integer> picks = List.of(1, 33, 64, 65, 80);
+        List<Integer> draws = List.of(1, 2, 64, 80);
+        int matches = NumberMask.matchCount(NumberMask.lowWord(picks), NumberMask.highWord(picks),
+                NumberMask.lowWord(draws), NumberMask.highWord(draws));
+        assertEquals(3, matches);
+        assertEquals(picks, NumberMask.toList(NumberMask.lowWord(picks), NumberMask.highWord(picks)));
+    }
+
+    @Test
+    @DisplayName("Test NumberMask rejects numbers off the board and repeats")
+    void testNumberMaskRejectsInvalidNumbers() {
+        assertThrows(IllegalArgumentException.class, () -> NumberMask.lowWord(List.of(0, 5)));
+        assertThrows(IllegalArgumentException.class, () -> NumberMask.highWord(List.of(-1)));
+        assertThrows(IllegalArgumentException.class, () -> NumberMask.highWord(List.of(81)));
+        assertThrows(IllegalArgumentException.class, () -> NumberMask.lowWord(List.of(5, 5)));
+        assertThrows(IllegalArgumentException.class, () -> NumberMask.highWord(List.of(70, 70)));
+        TicketBatch tickets = new TicketBatch();
+        assertThrows(IllegalArgumentException.class, () -> tickets.add(List.of(0, -1, 5, 5)));
+        assertEquals(0, tickets.size());
+    }
+
+    @Test
+    @DisplayName("Test settleBatch method")
+    void testSettleBatch() {
+        List<Integer> draw = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            draw.add(i * 4);
+        }
+        TicketBatch tickets = new TicketBatch(1);
+        tickets.add(List.of(4));
+        tickets.add(List.of(4, 8, 12, 16));
+        tickets.add(List.of(1, 2, 3, 5, 6, 7, 9, 10, 11, 13));
+        SettlementResult result = gameService.settleBatch(draw, tickets);
+        assertEquals(3, result.size());
+        assertEquals(1, result.getMatches(0));
+        assertEquals(2, result.getPayout(0));
+        assertEquals(4, result.getMatches(1));
+        assertEquals(75, result.getPayout(1));
+        assertEquals(0, result.getMatches(2));
+        assertEquals(5, result.getPayout(2));
+        assertEquals(82, result.getTotalPayout());
+    }
+
     @Test
     @DisplayName("Test calculatePrize method")
     void testCalculatePrize() {
@@ -166,6 +317,59 @@ class MyTest {
         assertEquals(0, gameService.calculatePrize(11));
     }
 
+    @Test
+    @DisplayName("Test PrizeTable compiled payouts and win masks")
+    void testPrizeTableCompiled() {
+        assertEquals(75, PrizeTable.getPrizeForHits(4, 4));
+        assertEquals(0, PrizeTable.getPrizeForHits(4, 1));
+        assertEquals(0, PrizeTable.getPrizeForHits(-1, 0));
+        assertEquals(0, PrizeTable.getPrizeForHits(3, 3));
+        assertEquals((1 << 2) | (1 << 3) | (1 << 4), PrizeTable.getWinMask(4));
+        assertTrue(PrizeTable.getPrizeTableForSpots(2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test OddsCalculator against published odds")
+    void testOddsCalculator() {
+        assertEquals(4.00, PrizeTable.getOdds(1), 0.005);
+        assertEquals(3.86, PrizeTable.getOdds(4), 0.005);
+        assertEquals(9.77, PrizeTable.getOdds(8), 0.005);
+        assertEquals(9.05, PrizeTable.getOdds(10), 0.005);
+        assertEquals(0.5, OddsCalculator.getExpectedPayout(1), 1e-12);
+        double total = 0.0;
+        for (int hits = 0; hits <= 10; hits++) {
+            total += OddsCalculator.getHitProbability(10, hits);
+        }
+        assertEquals(1.0, total, 1e-12);
+    }
+
+    @Test
+    @DisplayName("Test SimulationService RTP against the exact expected payout")
+    void testSimulationRtp() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SimulationService simulation = new SimulationService(pool, 42L);
+            for (GameMode gameMode : GameMode.values()) {
+                SimulationResult result = simulation.simulate(gameMode, GameDrawings.TWO_DRAWING, 500_000);
+                long draws = 0;
+                for (int hits = 0; hits <= gameMode.getMaxSpots(); hits++) {
+                    draws += result.getHitCount(hits);
+                }
+                assertEquals(1_000_000, result.getDraws());
+                assertEquals(result.getDraws(), draws);
+                double exact = OddsCalculator.getExpectedPayout(gameMode.getMaxSpots());
+                assertEquals(exact, result.getRtp(), 3 * result.getRtpMargin(), gameMode.getDisplayName());
+            }
+            SimulationResult first = simulation.simulate(GameMode.FOUR_SPOT, GameDrawings.ONE_DRAWING, 100_000);
+            SimulationResult second = new SimulationService(pool, 42L).simulate(GameMode.FOUR_SPOT, GameDrawings.ONE_DRAWING, 100_000);
+            for (int hits = 0; hits <= 4; hits++) {
+                assertEquals(first.getHitCount(hits), second.getHitCount(hits));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     @DisplayName("Test isWin method")
     void testIsWin() {
@@ -180,4 +384,974 @@ class MyTest {
         gameState.setGameMode(GameMode.TEN_SPOT);
         assertFalse(gameService.isWin(4));
     }
+
+    @Test
+    @DisplayName("Test HistoryJournal persists records across reopen")
+    void testHistoryJournal(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("history.journal");
+        try (HistoryJournal journal = new HistoryJournal(file, 2)) {
+            for (int i = 1; i <= 5; i++) {
+                journal.append(new GameHistory(i, i * 2, i * 100), 10);
+            }
+            assertEquals(5, journal.size());
+            assertEquals(500, journal.read(4).getTotalPrize());
+        }
+        try (HistoryJournal journal = new HistoryJournal(file)) {
+            assertEquals(5, journal.size());
+            List<GameHistory> tail = journal.readTail(2);
+            assertEquals(4, tail.get(0).getTotalRounds());
+            assertEquals(10, tail.get(1).getTotalMatchedCount());
+            assertEquals(10, journal.getSpots(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Test HistoryJournal commits in groups, by count or by delay")
+    void testHistoryJournalGroupCommit(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("history.journal");
+        GameState state = new GameState();
+        state.setGameMode(GameMode.FOUR_SPOT);
+        GameService service = new GameService(state);
+        try (HistoryJournal journal = new HistoryJournal(file, 4, 60_000)) {
+            service.setHistoryJournal(journal);
+            for (int i = 1; i <= 3; i++) {
+                service.recordGameHistory(new GameHistory(1, i, i));
+            }
+            assertEquals(0, Files.size(file));
+            assertEquals(3, service.getHistoryCount());
+            service.recordGameHistory(new GameHistory(1, 4, 4));
+            assertEquals(4 * HistoryJournal.RECORD_SIZE, Files.size(file));
+            service.recordGameHistory(new GameHistory(1, 5, 5));
+        }
+        assertEquals(5 * HistoryJournal.RECORD_SIZE, Files.size(file));
+        try (HistoryJournal journal = new HistoryJournal(file, 4, 0)) {
+            journal.append(new GameHistory(1, 6, 6), 4);
+            assertEquals(6 * HistoryJournal.RECORD_SIZE, Files.size(file));
+        }
+    }
+
+    @Test
+    @DisplayName("Test the journal commits an idle group once the delay has passed")
+    void testHistoryJournalTimedCommit(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("history.journal");
+        try (HistoryJournal journal = new HistoryJournal(file, 64, 300)) {
+            journal.append(new GameHistory(3, 7, 1234), 8);
+            assertEquals(0, Files.size(file));
+            // No further append: the timer alone must commit the record
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (Files.size(file) == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(HistoryJournal.RECORD_SIZE, Files.size(file));
+            ByteBuffer record = ByteBuffer.wrap(Files.readAllBytes(file));
+            assertEquals(8, record.getInt(8));
+            assertEquals(3, record.getInt(12));
+            assertEquals(7, record.getInt(16));
+            assertEquals(1234, record.getLong(24));
+            assertEquals(1234, journal.read(0).getTotalPrize());
+            assertEquals(1, journal.size());
+        }
+        assertEquals(HistoryJournal.RECORD_SIZE, Files.size(file));
+    }
+
+    @Test
+    @DisplayName("Test RoundEngine plays a whole game headless")
+    void testRoundEnginePlayGame() {
+        GameState state = new GameState();
+        GameService service = new GameService(state, new SeededRandomSource(7L));
+        RoundEngine engine = new RoundEngine(service, state);
+        DrawScript script = new DrawScript();
+        engine.addListener(script);
+        state.setGameMode(GameMode.TEN_SPOT);
+        state.setGameDrawings(GameDrawings.FOUR_DRAWING);
+        service.randomSelectNumbersForUser();
+
+        int totalMatches = 0;
+        int totalPrize = 0;
+        while (!engine.isGameOver()) {
+            totalPrize += engine.playRound();
+            totalMatches += script.getMatches();
+            assertEquals(20, script.size());
+            for (int i = 1; i < script.size(); i++) {
+                assertTrue(script.getNumber(i - 1) < script.getNumber(i));
+            }
+            assertEquals(script.getMatches(), script.getMatchedNumbers().size());
+            assertEquals(service.calculatePrize(script.getMatches()), script.getPrize());
+        }
+        GameHistory history = engine.finishGame();
+        assertEquals(4, history.getTotalRounds());
+        assertEquals(totalMatches, history.getTotalMatchedCount());
+        assertEquals(totalPrize, history.getTotalPrize());
+        assertEquals(0, state.getCurrentRound());
+        assertEquals(1, state.getGameHistories().size());
+    }
+
+    @Test
+    @DisplayName("Test RoundEngine rejects rounds without a full ticket")
+    void testRoundEngineNotReady() {
+        GameState state = new GameState();
+        GameService service = new GameService(state);
+        RoundEngine engine = new RoundEngine(service, state);
+        state.setGameMode(GameMode.FOUR_SPOT);
+        state.setGameDrawings(GameDrawings.ONE_DRAWING);
+        assertThrows(IllegalStateException.class, engine::playRound);
+    }
+
+    @Test
+    @DisplayName("Test GameState snapshots can be rebuilt from the event log")
+    void testGameStateEventSourcing() {
+        GameState state = new GameState();
+        GameService service = new GameService(state, new SeededRandomSource(11L));
+        RoundEngine engine = new RoundEngine(service, state);
+        state.setGameMode(GameMode.EIGHT_SPOT);
+        state.setGameDrawings(GameDrawings.THREE_DRAWING);
+        service.randomSelectNumbersForUser();
+        engine.playRound();
+        GameSnapshot midGame = state.getSnapshot();
+        assertEquals(1, midGame.getCurrentRound());
+        assertEquals(state.getTotalWinnings(), midGame.getTotalWinnings());
+        engine.playRound();
+        engine.playRound();
+        engine.finishGame();
+
+        GameEventLog log = state.getEventLog();
+        GameSnapshot replayed = GameSnapshot.EMPTY;
+        for (long i = 0; i < log.getPublishedCount(); i++) {
+            replayed = replayed.apply(log.read(i));
+        }
+        assertTrue(replayed.sameState(state.getSnapshot()));
+        assertEquals(1, replayed.getGamesPlayed());
+        assertEquals(0, replayed.getTotalWinnings());
+        // 3 rounds of start, 20 numbers and settle, then the finish
+        assertEquals(3 * 22 + 1, log.getPublishedCount());
+        assertEquals(GameEvent.Type.GAME_FINISHED, log.read(log.getPublishedCount() - 1).getType());
+    }
+
+    @Test
+    @DisplayName("Test other threads see the snapshot of every boundary while the game is idle")
+    void testSnapshotPublishedAtBoundaries() throws Exception {
+        GameState state = new GameState();
+        GameService service = new GameService(state, new SeededRandomSource(13L));
+        RoundEngine engine = new RoundEngine(service, state);
+        state.setGameMode(GameMode.FOUR_SPOT);
+        state.setGameDrawings(GameDrawings.TWO_DRAWING);
+        service.randomSelectNumbersForUser();
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(0, reader.submit(() -> state.getSnapshot().getCurrentRound()).get());
+            engine.playRound();
+            GameSnapshot afterRound = reader.submit(state::getSnapshot).get();
+            assertEquals(1, afterRound.getCurrentRound());
+            assertEquals(state.getTotalWinnings(), afterRound.getTotalWinnings());
+            engine.playGame();
+            for (int i = 0; i < 3; i++) {
+                GameSnapshot idle = reader.submit(state::getSnapshot).get();
+                assertEquals(1, idle.getGamesPlayed());
+                assertEquals(0, idle.getCurrentRound());
+                assertTrue(idle.sameState(state.getSnapshot()));
+            }
+
+            // Readers racing the game thread never see a snapshot older than one they saw
+            AtomicInteger regressions = new AtomicInteger();
+            ExecutorService racers = Executors.newFixedThreadPool(2);
+            AtomicBoolean playing = new AtomicBoolean(true);
+            List<Future<?>> reads = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                reads.add(racers.submit(() -> {
+                    GameSnapshot last = GameSnapshot.EMPTY;
+                    while (playing.get()) {
+                        GameSnapshot seen = state.getSnapshot();
+                        if (seen.getVersion() < last.getVersion() || seen.getGamesPlayed() < last.getGamesPlayed()
+                                || seen.getCurrentRound() > 2) {
+                            regressions.incrementAndGet();
+                        }
+                        last = seen;
+                    }
+                }));
+            }
+            for (int game = 0; game < 2_000; game++) {
+                engine.playGame();
+            }
+            playing.set(false);
+            for (Future<?> read : reads) {
+                read.get(10, TimeUnit.SECONDS);
+            }
+            racers.shutdownNow();
+            assertEquals(0, regressions.get());
+            assertEquals(2_001, reader.submit(state::getSnapshot).get().getGamesPlayed());
+        } finally {
+            reader.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Test GameEventLog drops events the ring has overwritten")
+    void testGameEventLogOverwrite() {
+        GameState state = new GameState();
+        GameService service = new GameService(state, new SeededRandomSource(3L));
+        RoundEngine engine = new RoundEngine(service, state);
+        state.setGameMode(GameMode.ONE_SPOT);
+        state.setGameDrawings(GameDrawings.FOUR_DRAWING);
+        service.randomSelectNumbersForUser();
+        GameEventLog log = state.getEventLog();
+        while (log.getPublishedCount() <= log.capacity()) {
+            engine.playGame();
+        }
+        assertNull(log.read(0));
+        assertNotNull(log.read(log.getPublishedCount() - 1));
+        assertNull(log.read(log.getPublishedCount()));
+    }
+
+    @Test
+    @DisplayName("Test a full round allocates nothing")
+    void testRoundAllocationFree() {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        GameState state = new GameState();
+        GameService service = new GameService(state, new SeededRandomSource(5L));
+        RoundEngine engine = new RoundEngine(service, state);
+        engine.addListener(new DrawScript());
+        engine.setDrawRing(new DrawRing(64, DrawRing.Policy.OVERWRITE));
+        engine.getDrawRing().subscribe();
+        state.setGameMode(GameMode.TEN_SPOT);
+        state.setGameDrawings(GameDrawings.FOUR_DRAWING);
+        service.randomSelectNumbersForUser();
+
+        // Warm up so class loading and compilation happen before measuring
+        playRounds(engine, state, 200_000);
+        long threadId = Thread.currentThread().getId();
+        long overhead = -threads.getThreadAllocatedBytes(threadId) + threads.getThreadAllocatedBytes(threadId);
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long winnings = playRounds(engine, state, 10_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+        assertTrue(winnings >= 0);
+        assertEquals(0, allocated, "bytes allocated by 10000 rounds");
+    }
+
+    /**
+     * Play rounds, finishing each game when its drawings run out.
+     * @return total prize of the rounds
+     */
+    private static long playRounds(RoundEngine engine, GameState state, int rounds) {
+        long winnings = 0;
+        for (int i = 0; i < rounds; i++) {
+            if (engine.isGameOver()) {
+                state.gameFinished();
+            }
+            winnings += engine.playRound();
+        }
+        return winnings;
+    }
+
+    @Test
+    @DisplayName("Test table settles concurrent sessions against one draw")
+    void testTableDrawAndSettle() throws InterruptedException {
+        GameService tableService = new GameService(new GameState(), new SeededRandomSource(17L));
+        KenoTable table = new KenoTable(tableService, 4);
+        int[] sessions = new int[64];
+        for (int i = 0; i < sessions.length; i++) {
+            sessions[i] = table.openSession();
+        }
+        Thread[] players = new Thread[4];
+        for (int t = 0; t < players.length; t++) {
+            int first = t;
+            players[t] = new Thread(() -> {
+                for (int i = first; i < sessions.length; i += players.length) {
+                    for (int n = 1; n <= 10; n++) {
+                        table.placeTicket(sessions[i], List.of(n, n + 10, n + 20, n + 30 + i % 10));
+                    }
+                }
+            });
+            players[t].start();
+        }
+        for (Thread player : players) {
+            player.join();
+        }
+        assertEquals(64, table.getSessionCount());
+        assertEquals(640, table.getPendingTicketCount());
+
+        TableDrawResult result = table.drawAndSettle();
+        assertEquals(640, result.getTicketCount());
+        assertEquals(0, table.getPendingTicketCount());
+        assertEquals(tableService.getLastDrawSeed(), result.getSeed());
+        long expected = 0;
+        long credited = 0;
+        for (int i = 0; i < sessions.length; i++) {
+            for (int n = 1; n <= 10; n++) {
+                int hits = NumberMask.matchCount(NumberMask.lowWord(List.of(n, n + 10, n + 20, n + 30 + i % 10)), 0L,
+                        result.getDrawLow(), result.getDrawHigh());
+                expected += PrizeTable.getPrizeForHits(4, hits);
+            }
+            credited += table.getWinnings(sessions[i]);
+            assertEquals(10, table.getTicketCount(sessions[i]));
+        }
+        assertEquals(expected, result.getTotalPayout());
+        assertEquals(expected, credited);
+
+        // Replay the reveals in ascending order and count the tickets that can still win
+        List<Integer> drawn = result.getDrawnNumbers();
+        for (int revealed = 0; revealed <= drawn.size(); revealed++) {
+            List<Integer> shown = drawn.subList(0, revealed);
+            int live = 0;
+            for (int i = 0; i < sessions.length; i++) {
+                for (int n = 1; n <= 10; n++) {
+                    int hits = NumberMask.matchCount(NumberMask.lowWord(List.of(n, n + 10, n + 20, n + 30 + i % 10)), 0L,
+                            NumberMask.lowWord(shown), NumberMask.highWord(shown));
+                    if (IncrementalSettlement.canStillWin(4, hits, drawn.size() - revealed)) {
+                        live++;
+                    }
+                }
+            }
+            assertEquals(live, result.getLiveCount(revealed), "after " + revealed + " numbers");
+        }
+        assertEquals(640, result.getLiveCount(0));
+        assertEquals(0, table.drawAndSettle().getTicketCount());
+    }
+
+    @Test
+    @DisplayName("Test table rejects unknown sessions")
+    void testTableUnknownSession() {
+        KenoTable table = new KenoTable(new GameService(new GameState()), 2);
+        int session = table.openSession();
+        assertThrows(IllegalArgumentException.class, () -> table.placeTicket(session + 2, List.of(1, 2, 3, 4)));
+        assertThrows(IllegalArgumentException.class, () -> table.getWinnings(-1));
+        assertThrows(IllegalArgumentException.class, () -> table.placeTicket(session, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> table.placeTicket(session, List.of(0)));
+        assertThrows(IllegalArgumentException.class, () -> table.placeTicket(session, List.of(5, 81)));
+        assertThrows(IllegalArgumentException.class, () -> table.placeTicket(session, List.of(5, 5)));
+        assertEquals(0, table.getPendingTicketCount());
+        assertEquals(0, table.getTicketCount(session));
+    }
+
+    @Test
+    @DisplayName("Test game server places tickets and pushes draws")
+    void testGameServer() throws Exception {
+        KenoTable table = new KenoTable(new GameService(new GameState(), new SeededRandomSource(18L)), 2);
+        GameServer server = new GameServer(table, 0, 0);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + server.getPort();
+            CompletableFuture<String> pushed = new CompletableFuture<>();
+            client.newWebSocketBuilder().buildAsync(URI.create("ws://127.0.0.1:" + server.getWebSocketPort() + "/"), new WebSocket.Listener() {
+                @Override
+                public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+                    pushed.complete(data.toString());
+                    return null;
+                }
+            }).get(5, TimeUnit.SECONDS);
+
+            HttpResponse<String> session = client.send(HttpRequest.newBuilder(URI.create(base + "/session"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals("{\"session\":0}", session.body());
+            HttpResponse<String> ticket = client.send(HttpRequest.newBuilder(URI.create(base + "/ticket?session=0&numbers=1,2,3,4"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, ticket.statusCode());
+            HttpResponse<String> invalid = client.send(HttpRequest.newBuilder(URI.create(base + "/ticket?session=0&numbers=1,x"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, invalid.statusCode());
+            for (String numbers : List.of("0,-1", "5,5", "80,81")) {
+                HttpResponse<String> rejected = client.send(HttpRequest.newBuilder(URI.create(base + "/ticket?session=0&numbers=" + numbers))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(400, rejected.statusCode(), numbers);
+            }
+            assertEquals(1, table.getPendingTicketCount());
+            HttpResponse<String> draw = client.send(HttpRequest.newBuilder(URI.create(base + "/draw"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, draw.statusCode());
+            assertTrue(draw.body().startsWith("{\"draw\":1,"));
+            assertTrue(draw.body().contains("\"tickets\":1,"));
+            assertTrue(draw.body().contains("\"live\":[1,"));
+            assertEquals(draw.body(), pushed.get(5, TimeUnit.SECONDS));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Test the draw timer keeps drawing after a draw fails")
+    void testDrawTimerSurvivesFailedDraw() throws Exception {
+        AtomicInteger seeds = new AtomicInteger();
+        RandomSource failingOnce = () -> {
+            if (seeds.getAndIncrement() == 0) {
+                throw new IllegalStateException("Random source unavailable");
+            }
+            return seeds.get();
+        };
+        KenoTable table = new KenoTable(new GameService(new GameState(), failingOnce), 1);
+        GameServer server = new GameServer(table, 0, 0);
+        server.start();
+        try {
+            server.startDrawTimer(10);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (seeds.get() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(seeds.get() >= 3, "draws after the failed one");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Test a malformed client frame only drops that client")
+    void testBroadcasterRejectsNegativeFrameLength() throws Exception {
+        DrawBroadcaster broadcaster = new DrawBroadcaster(0);
+        broadcaster.start();
+        try (Socket bad = new Socket(InetAddress.getLoopbackAddress(), broadcaster.getPort())) {
+            HttpClient client = HttpClient.newHttpClient();
+            CompletableFuture<String> pushed = new CompletableFuture<>();
+            client.newWebSocketBuilder().buildAsync(URI.create("ws://127.0.0.1:" + broadcaster.getPort() + "/"), new WebSocket.Listener() {
+                @Override
+                public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+                    pushed.complete(data.toString());
+                    return null;
+                }
+            }).get(5, TimeUnit.SECONDS);
+            bad.setSoTimeout(5000);
+            OutputStream out = bad.getOutputStream();
+            out.write(("GET / HTTP/1.1\r\nHost: localhost\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Key: dGhlIHNhbXBsZSBub25jZQ==\r\nSec-WebSocket-Version: 13\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            out.flush();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(bad.getInputStream(), StandardCharsets.ISO_8859_1));
+            assertTrue(reader.readLine().startsWith("HTTP/1.1 101"));
+            // A masked binary frame whose 64-bit length has the top bit set
+            out.write(new byte[] {(byte) 0x82, (byte) 0xFF, (byte) 0x80, 0, 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0, 1, 2, 3, 4});
+            out.flush();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (broadcaster.getClientCount() != 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, broadcaster.getClientCount());
+            broadcaster.broadcast("still here");
+            assertEquals("still here", pushed.get(5, TimeUnit.SECONDS));
+        } finally {
+            broadcaster.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Test load report percentiles")
+    void testLoadReport() {
+        long[] latencies = new long[100];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (100 - i) * 1_000_000L;
+        }
+        LoadReport report = new LoadReport(4, 100, 0, 0, 2_000_000_000L, latencies);
+        assertEquals(50.0, report.getRequestsPerSecond(), 1e-9);
+        assertEquals(50.0, report.getLatencyMillis(50), 1e-9);
+        assertEquals(99.0, report.getLatencyMillis(99), 1e-9);
+        assertEquals(100.0, report.getLatencyMillis(100), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> report.getLatencyMillis(101));
+    }
+
+    @Test
+    @DisplayName("Test draw ring delivers engine draws to every subscriber")
+    void testDrawRingSubscribers() {
+        GameState state = new GameState();
+        GameService service = new GameService(state, new SeededRandomSource(19L));
+        RoundEngine engine = new RoundEngine(service, state);
+        engine.setDrawRing(new DrawRing(8, DrawRing.Policy.BLOCK));
+        DrawRing.Subscriber first = engine.getDrawRing().subscribe();
+        DrawRing.Subscriber second = engine.getDrawRing().subscribe();
+        state.setGameMode(GameMode.FOUR_SPOT);
+        state.setGameDrawings(GameDrawings.FOUR_DRAWING);
+        service.randomSelectNumbersForUser();
+        engine.playRound();
+
+        List<Long> seeds = new ArrayList<>();
+        assertEquals(1, first.poll(draw -> {
+            assertEquals(1, draw.getRound());
+            assertEquals(20, draw.getNumbers().size());
+            assertEquals(service.getLastDrawLowMask(), draw.getLowMask());
+            seeds.add(draw.getSeed());
+        }, 10));
+        assertEquals(List.of(service.getLastDrawSeed()), seeds);
+        assertEquals(0, first.poll(draw -> fail("no new draw"), 10));
+        assertEquals(1, second.getBacklog());
+    }
+
+    @Test
+    @DisplayName("Test draw ring policies for a full ring")
+    void testDrawRingPolicies() throws InterruptedException {
+        DrawRing dropping = new DrawRing(4, DrawRing.Policy.DROP_NEWEST);
+        DrawRing.Subscriber slow = dropping.subscribe();
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i < 4, dropping.publish(i, i, 1L << i, 0L, 0L));
+        }
+        assertEquals(2, dropping.getDroppedCount());
+        List<Integer> rounds = new ArrayList<>();
+        assertEquals(4, slow.poll(draw -> rounds.add(draw.getRound()), 10));
+        assertEquals(List.of(0, 1, 2, 3), rounds);
+
+        DrawRing overwriting = new DrawRing(4, DrawRing.Policy.OVERWRITE);
+        DrawRing.Subscriber lapped = overwriting.subscribe();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(overwriting.publish(i, i, 1L << i, 0L, 0L));
+        }
+        rounds.clear();
+        assertEquals(4, lapped.poll(draw -> rounds.add(draw.getRound()), 10));
+        assertEquals(List.of(6, 7, 8, 9), rounds);
+        assertEquals(6, lapped.getLostCount());
+
+        DrawRing blocking = new DrawRing(2, DrawRing.Policy.BLOCK);
+        DrawRing.Subscriber reader = blocking.subscribe();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                blocking.publish(i, i, 1L, 0L, 0L);
+            }
+        });
+        // A writer stuck in publish must fail the test, not keep the JVM alive
+        writer.setDaemon(true);
+        writer.start();
+        List<Integer> received = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (received.size() < 100 && System.nanoTime() < deadline) {
+            reader.poll(draw -> received.add(draw.getRound()), 10);
+            Thread.onSpinWait();
+        }
+        assertEquals(100, received.size(), "draws received before the deadline");
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(writer.isAlive(), "writer still blocked in publish");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, received.get(i));
+        }
+        reader.close();
+        assertTrue(blocking.publish(100, 0L, 1L, 0L, 0L));
+        assertTrue(blocking.publish(101, 0L, 1L, 0L, 0L));
+        assertTrue(blocking.publish(102, 0L, 1L, 0L, 0L));
+    }
+
+    @Test
+    @DisplayName("Test CSV and columnar exports of an engine's rounds agree")
+    void testRoundExport(@TempDir Path dir) throws IOException {
+        GameState state = new GameState();
+        GameService service = new GameService(state, new SeededRandomSource(20L));
+        RoundEngine engine = new RoundEngine(service, state);
+        CsvRoundExporter csv = CsvRoundExporter.open(dir.resolve("rounds.csv"));
+        ColumnarRoundExporter columnar = ColumnarRoundExporter.open(dir.resolve("rounds.kcol"));
+        csv.setGameService(service);
+        columnar.setGameService(service);
+        engine.addListener(csv);
+        engine.addListener(columnar);
+        state.setGameMode(GameMode.EIGHT_SPOT);
+        state.setGameDrawings(GameDrawings.FOUR_DRAWING);
+        service.randomSelectNumbersForUser();
+        long payout = 0;
+        for (int game = 0; game < 3; game++) {
+            payout += engine.playGame().getTotalPrize();
+        }
+        csv.close();
+        columnar.close();
+
+        List<String> lines = Files.readAllLines(dir.resolve("rounds.csv"));
+        assertEquals(13, lines.size());
+        assertEquals("game,round,seed,spots,picks,draw,matches,prize", lines.get(0));
+        long csvPayout = 0;
+        try (ColumnarRoundReader reader = ColumnarRoundReader.open(dir.resolve("rounds.kcol"))) {
+            for (int row = 1; row < lines.size(); row++) {
+                assertTrue(reader.next());
+                String[] fields = lines.get(row).split(",");
+                assertEquals(Long.parseLong(fields[0]), reader.getGame());
+                assertEquals(Integer.parseInt(fields[1]), reader.getRound());
+                assertEquals(Long.parseLong(fields[2]), reader.getSeed());
+                assertEquals(8, reader.getSpots());
+                assertEquals(8, fields[4].split(" ").length);
+                assertEquals(fields[5], NumberMask.toList(reader.getDrawLow(), reader.getDrawHigh()).toString().replaceAll("[\\[\\],]", ""));
+                assertEquals(Integer.parseInt(fields[6]), reader.getMatches());
+                assertEquals(Integer.parseInt(fields[7]), reader.getPrize());
+                csvPayout += reader.getPrize();
+            }
+            assertFalse(reader.next());
+            assertEquals(12, reader.getRowsRead());
+        }
+        assertEquals(payout, csvPayout);
+    }
+
+    @Test
+    @DisplayName("Test columnar export spans several row groups")
+    void testColumnarExportRowGroups(@TempDir Path dir) throws IOException {
+        int rows = ColumnarRoundExporter.ROW_GROUP_SIZE * 2 + 7;
+        try (ColumnarRoundExporter exporter = ColumnarRoundExporter.open(dir.resolve("big.kcol"))) {
+            for (int i = 0; i < rows; i++) {
+                exporter.writeRound(i / 4 + 1, i % 4 + 1, i * 31L, 4, 0xFL << (i % 60), NumberMask.highBit(80), 0xFFFFFL, 0L, i % 5, i);
+            }
+        }
+        try (ColumnarRoundReader reader = ColumnarRoundReader.open(dir.resolve("big.kcol"))) {
+            for (int i = 0; i < rows; i++) {
+                assertTrue(reader.next());
+                assertEquals(i * 31L, reader.getSeed());
+                assertEquals(0xFL << (i % 60), reader.getPickLow());
+                assertEquals(NumberMask.highBit(80), reader.getPickHigh());
+                assertEquals(i, reader.getPrize());
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    @DisplayName("Test a simulation exports every round reproducibly from its seed")
+    void testSimulationExport(@TempDir Path dir) throws IOException {
+        SimulationService simulation = new SimulationService(23L);
+        SimulationResult result;
+        try (RoundExporter exporter = SimulationService.openExporter(dir.resolve("first.csv"))) {
+            assertTrue(exporter instanceof CsvRoundExporter);
+            result = simulation.export(GameMode.FOUR_SPOT, GameDrawings.THREE_DRAWING, 50, exporter);
+            assertEquals(150, exporter.getRowCount());
+        }
+        try (RoundExporter exporter = SimulationService.openExporter(dir.resolve("second.csv"))) {
+            simulation.export(GameMode.FOUR_SPOT, GameDrawings.THREE_DRAWING, 50, exporter);
+        }
+        try (RoundExporter exporter = SimulationService.openExporter(dir.resolve("rounds.kcol"))) {
+            assertTrue(exporter instanceof ColumnarRoundExporter);
+            simulation.export(GameMode.FOUR_SPOT, GameDrawings.THREE_DRAWING, 50, exporter);
+        }
+        assertEquals(150, result.getDraws());
+        List<String> lines = Files.readAllLines(dir.resolve("first.csv"));
+        assertEquals(lines, Files.readAllLines(dir.resolve("second.csv")));
+        assertEquals(151, lines.size());
+        assertEquals("50,3", lines.get(150).substring(0, 4));
+
+        long[] hitCounts = new long[5];
+        try (ColumnarRoundReader reader = ColumnarRoundReader.open(dir.resolve("rounds.kcol"))) {
+            for (int row = 1; row < lines.size(); row++) {
+                assertTrue(reader.next());
+                assertEquals(Long.parseLong(lines.get(row).split(",")[2]), reader.getSeed());
+                hitCounts[reader.getMatches()]++;
+            }
+            assertFalse(reader.next());
+        }
+        for (int hits = 0; hits < hitCounts.length; hits++) {
+            assertEquals(result.getHitCount(hits), hitCounts[hits]);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the selected settlement kernel matches the scalar kernel bit for bit")
+    void testSettlementKernelsAgree() {
+        SplittableRandom random = new SplittableRandom(21L);
+        TicketBatch tickets = new TicketBatch(16);
+        for (int i = 0; i < 10_003; i++) {
+            long low = 0L;
+            long high = 0L;
+            int spots = 1 + random.nextInt(PrizeTable.MAX_SPOTS);
+            while (NumberMask.size(low, high) < spots) {
+                int number = 1 + random.nextInt(NumberMask.MAX_NUMBER);
+                low |= NumberMask.lowBit(number);
+                high |= NumberMask.highBit(number);
+            }
+            tickets.add(low, high);
+        }
+        SettlementKernel kernel = SettlementKernel.best();
+        for (int draw = 0; draw < 20; draw++) {
+            long drawLow = random.nextLong();
+            long drawHigh = random.nextLong() & NumberMask.HIGH_WORD_MASK;
+            SettlementResult expected = new SettlementResult(tickets.size());
+            SettlementResult actual = new SettlementResult(tickets.size());
+            expected.reset(tickets.size());
+            actual.reset(tickets.size());
+            int from = draw;
+            int to = tickets.size() - draw * 3;
+            SettlementKernel.scalar().settle(drawLow, drawHigh, tickets, expected, from, to);
+            kernel.settle(drawLow, drawHigh, tickets, actual, from, to);
+            assertArrayEquals(expected.matches(), actual.matches(), kernel.getName() + " matches");
+            assertArrayEquals(expected.payouts(), actual.payouts(), kernel.getName() + " payouts");
+        }
+        assertThrows(IllegalArgumentException.class, () -> SettlementKernel.named("gpu"));
+    }
+
+    @Test
+    @DisplayName("Test concurrent appends to the off-heap ticket store across chunks")
+    void testTicketStoreConcurrentAppend() throws InterruptedException {
+        TicketStore store = new TicketStore(100);
+        int perThread = 5_000;
+        Thread[] sellers = new Thread[4];
+        for (int t = 0; t < sellers.length; t++) {
+            int seed = t;
+            sellers[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < perThread; i++) {
+                    int first = 1 + random.nextInt(70);
+                    store.append(List.of(first, first + 5, first + 10), 1 + seed, 2);
+                }
+            });
+            sellers[t].start();
+        }
+        for (Thread seller : sellers) {
+            seller.join();
+        }
+        assertEquals(4L * perThread, store.size());
+        // 100 records per chunk round up to 128
+        assertEquals((4L * perThread + 127) / 128 * 128 * TicketStore.RECORD_BYTES, store.getOffHeapBytes());
+
+        TicketBatch batch = new TicketBatch();
+        int[] drawCounts = new int[5];
+        assertEquals(store.size(), store.scan((index, low, high, spots, draws, stake) -> {
+            assertEquals(3, spots);
+            assertEquals(2, stake);
+            drawCounts[draws]++;
+            batch.add(low, high);
+        }));
+        assertArrayEquals(new int[] {0, perThread, perThread, perThread, perThread}, drawCounts);
+
+        long drawLow = NumberMask.lowWord(List.of(1, 2, 3, 6, 7, 8, 11, 12, 13, 16, 17, 18, 21, 22, 23, 26, 27, 28, 31, 32));
+        SettlementResult result = new SettlementResult(batch.size());
+        new SettlementService().settleBatch(drawLow, 0L, batch, result);
+        assertEquals(result.getTotalPayout() * 2, store.getTotalPayout(drawLow, 0L));
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(0, store.getTotalPayout(drawLow, 0L));
+        long index = store.append(List.of(1, 80), 4, 7);
+        assertEquals(0, index);
+        assertEquals(NumberMask.highBit(80), store.getHighMask(index));
+        assertEquals(2, store.getSpots(index));
+        assertEquals(4, store.getDraws(index));
+        assertEquals(7, store.getStake(index));
+        assertThrows(IllegalArgumentException.class, () -> store.append(List.of(5), 0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getStake(1));
+    }
+
+    @Test
+    @DisplayName("Test the inverted ticket index finds exactly the winners of a full scan")
+    void testTicketIndexMatchesScan() {
+        SplittableRandom random = new SplittableRandom(23L);
+        TicketBatch tickets = new TicketBatch(200_000);
+        for (int i = 0; i < 200_000; i++) {
+            long low = 0L;
+            long high = 0L;
+            int spots = random.nextInt(3) == 0 ? PrizeTable.MAX_SPOTS : 1 + random.nextInt(PrizeTable.MAX_SPOTS);
+            while (NumberMask.size(low, high) < spots) {
+                int number = 1 + random.nextInt(NumberMask.MAX_NUMBER);
+                low |= NumberMask.lowBit(number);
+                high |= NumberMask.highBit(number);
+            }
+            tickets.add(low, high);
+        }
+        TicketIndex index = TicketIndex.of(tickets);
+        SettlementService settlementService = new SettlementService();
+        SettlementResult expected = new SettlementResult(tickets.size());
+        WinningTickets winners = new WinningTickets();
+        for (int draw = 0; draw < 3; draw++) {
+            DrawGenerator generator = new DrawGenerator(new SeededRandomSource(draw));
+            generator.draw();
+            long drawLow = generator.getLowMask();
+            long drawHigh = generator.getHighMask();
+            settlementService.settleBatch(drawLow, drawHigh, tickets, expected);
+            index.settle(drawLow, drawHigh, winners);
+            assertEquals(expected.getWinnerCount(), winners.size());
+            assertEquals(expected.getTotalPayout(), winners.getTotalPayout());
+            for (int i = 0; i < winners.size(); i++) {
+                int id = winners.getTicketId(i);
+                assertEquals(expected.getMatches(id), winners.getMatches(i));
+                assertEquals(expected.getPayout(id), winners.getPayout(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test ticket bitmaps switch from array to bitmap containers")
+    void testTicketBitmapContainers() {
+        TicketBitmap bitmap = new TicketBitmap();
+        for (int id = 0; id < 2 * TicketBitmap.ARRAY_LIMIT; id += 2) {
+            bitmap.add(id);
+        }
+        assertFalse(bitmap.isBitmap(0));
+        bitmap.add(70_000);
+        assertEquals(2, bitmap.getContainerCount());
+        assertEquals(TicketBitmap.ARRAY_LIMIT + 1, bitmap.getCardinality());
+        bitmap.add(70_001);
+        assertTrue(bitmap.contains(8190));
+        assertFalse(bitmap.contains(8191));
+        assertTrue(bitmap.contains(70_001));
+        for (int id = 80_000; id <= 80_000 + TicketBitmap.ARRAY_LIMIT; id++) {
+            bitmap.add(id);
+        }
+        assertTrue(bitmap.isBitmap(1));
+        assertTrue(bitmap.contains(70_000));
+        assertTrue(bitmap.contains(80_000 + TicketBitmap.ARRAY_LIMIT));
+        assertFalse(bitmap.contains(75_000));
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(5));
+    }
+
+    @Test
+    @DisplayName("Test incremental settlement drops final losers and confirms the full result")
+    void testIncrementalSettlement() {
+        assertTrue(IncrementalSettlement.canStillWin(10, 0, 20));
+        assertTrue(IncrementalSettlement.canStillWin(10, 0, 0));
+        assertFalse(IncrementalSettlement.canStillWin(10, 1, 3));
+        assertFalse(IncrementalSettlement.canStillWin(4, 0, 1));
+        assertTrue(IncrementalSettlement.canStillWin(4, 0, 2));
+        assertFalse(IncrementalSettlement.canStillWin(3, 0, 20));
+
+        SplittableRandom random = new SplittableRandom(24L);
+        TicketBatch tickets = new TicketBatch();
+        for (int i = 0; i < 20_000; i++) {
+            long low = 0L;
+            long high = 0L;
+            int spots = 1 + random.nextInt(PrizeTable.MAX_SPOTS);
+            while (NumberMask.size(low, high) < spots) {
+                int number = 1 + random.nextInt(NumberMask.MAX_NUMBER);
+                low |= NumberMask.lowBit(number);
+                high |= NumberMask.highBit(number);
+            }
+            tickets.add(low, high);
+        }
+        DrawGenerator generator = new DrawGenerator(new SeededRandomSource(24L));
+        generator.draw();
+        IncrementalSettlement settlement = new IncrementalSettlement();
+        settlement.open(tickets);
+        int previous = settlement.getLiveCount();
+        assertTrue(previous < tickets.size());
+        long drawnLow = 0L;
+        long drawnHigh = 0L;
+        for (int number : NumberMask.toList(generator.getLowMask(), generator.getHighMask())) {
+            int live = settlement.reveal(number);
+            assertTrue(live <= previous);
+            previous = live;
+            drawnLow |= NumberMask.lowBit(number);
+            drawnHigh |= NumberMask.highBit(number);
+            int remaining = DrawGenerator.DRAW_SIZE - settlement.getRevealedCount();
+            for (int i = 0; i < tickets.size(); i += 97) {
+                int hits = NumberMask.matchCount(tickets.getLowMask(i), tickets.getHighMask(i), drawnLow, drawnHigh);
+                assertEquals(IncrementalSettlement.canStillWin(tickets.getSpots(i), hits, remaining), settlement.isLive(i));
+            }
+        }
+        assertThrows(IllegalStateException.class, () -> settlement.reveal(1));
+
+        SettlementResult expected = new SettlementResult(tickets.size());
+        new SettlementService().settleBatch(generator.getLowMask(), generator.getHighMask(), tickets, expected);
+        WinningTickets winners = new WinningTickets();
+        assertEquals(expected.getTotalPayout(), settlement.finish(winners));
+        assertEquals(expected.getWinnerCount(), winners.size());
+        for (int i = 0; i < winners.size(); i++) {
+            assertEquals(expected.getPayout(winners.getTicketId(i)), winners.getPayout(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Test the exposure tracker moments, liability bound and cap")
+    void testExposureTracker() {
+        ExposureTracker tracker = new ExposureTracker();
+        assertTrue(tracker.tryAccept(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), 2));
+        assertEquals(2 * OddsCalculator.getExpectedPayout(10), tracker.getExpectedPayout(), 1e-9);
+        assertEquals(4 * OddsCalculator.getPayoutVariance(10), tracker.getPayoutVariance(), 1e-6);
+        assertEquals(200_000, tracker.getMaxLiability());
+        assertEquals(0, tracker.getRejectedCount());
+
+        // Eight 4-spot tickets on 32 distinct numbers: 600 if all hit 4, but at most 20 numbers are drawn
+        tracker = new ExposureTracker(400);
+        for (int ticket = 0; ticket < 8; ticket++) {
+            int first = 1 + ticket * 4;
+            assertTrue(tracker.tryAccept(List.of(first, first + 1, first + 2, first + 3), 1));
+        }
+        assertEquals(20 * 19, tracker.getMaxLiability());
+        assertEquals(1, tracker.getNumberTicketCount(32));
+        assertFalse(tracker.tryAccept(List.of(1, 2, 3, 4), 1));
+        assertEquals(8, tracker.getTicketCount());
+        assertEquals(1, tracker.getRejectedCount());
+        assertEquals(19, tracker.getNumberLiability(1));
+        assertThrows(IllegalArgumentException.class, () -> new ExposureTracker().tryAccept(List.of(1), 0));
+
+        // The bound holds for every draw
+        SplittableRandom random = new SplittableRandom(25L);
+        tracker = new ExposureTracker();
+        TicketBatch tickets = new TicketBatch();
+        for (int i = 0; i < 2_000; i++) {
+            int spots = new int[] {1, 4, 8, 10}[random.nextInt(4)];
+            long low = 0L;
+            long high = 0L;
+            while (NumberMask.size(low, high) < spots) {
+                int number = 1 + random.nextInt(30);
+                low |= NumberMask.lowBit(number);
+                high |= NumberMask.highBit(number);
+            }
+            tickets.add(low, high);
+            assertTrue(tracker.tryAccept(low, high, 1));
+        }
+        SettlementResult result = new SettlementResult(tickets.size());
+        SettlementService settlementService = new SettlementService();
+        long drawLow = NumberMask.lowWord(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20));
+        settlementService.settleBatch(drawLow, 0L, tickets, result);
+        assertTrue(result.getTotalPayout() <= tracker.getMaxLiability());
+
+        // The kept top numbers decide like ranking all 80 numbers for every ticket
+        tracker = new ExposureTracker(60_000);
+        long topPrizes = 0;
+        long zeroHits = 0;
+        int rejected = 0;
+        for (int i = 0; i < 3_000; i++) {
+            int spots = new int[] {1, 4, 8, 10}[random.nextInt(4)];
+            List<Integer> numbers = new ArrayList<>();
+            while (numbers.size() < spots) {
+                int number = 1 + random.nextInt(i % 2 == 0 ? 30 : NumberMask.MAX_NUMBER);
+                if (!numbers.contains(number)) {
+                    numbers.add(number);
+                }
+            }
+            int stake = 1 + random.nextInt(3);
+            long share = 0;
+            long topPrize = 0;
+            for (int hits = 0; hits <= spots; hits++) {
+                int prize = PrizeTable.getPrizeForHits(spots, hits);
+                topPrize = Math.max(topPrize, prize);
+                if (hits > 0) {
+                    share = Math.max(share, (prize + hits - 1) / hits);
+                }
+            }
+            long[] liabilities = new long[NumberMask.MAX_NUMBER];
+            for (int number = 1; number <= NumberMask.MAX_NUMBER; number++) {
+                liabilities[number - 1] = tracker.getNumberLiability(number) + (numbers.contains(number) ? stake * share : 0);
+            }
+            Arrays.sort(liabilities);
+            long numberBound = zeroHits + stake * PrizeTable.getPrizeForHits(spots, 0);
+            for (int j = NumberMask.MAX_NUMBER - 20; j < NumberMask.MAX_NUMBER; j++) {
+                numberBound += liabilities[j];
+            }
+            boolean expected = Math.min(topPrizes + stake * topPrize, numberBound) <= 60_000;
+            assertEquals(expected, tracker.tryAccept(numbers, stake), "ticket " + i);
+            if (expected) {
+                topPrizes += stake * topPrize;
+                zeroHits += stake * PrizeTable.getPrizeForHits(spots, 0);
+                assertEquals(Math.min(topPrizes, numberBound), tracker.getMaxLiability());
+            } else {
+                rejected++;
+            }
+        }
+        assertTrue(rejected > 0 && rejected < 3_000);
+        assertEquals(rejected, tracker.getRejectedCount());
+        tracker.clear();
+        assertEquals(0, tracker.getMaxLiability());
+    }
+
+    @Test
+    @DisplayName("Test a capped table refuses tickets and tracks each draw's exposure")
+    void testTableLiabilityCap() {
+        KenoTable table = new KenoTable(new GameService(new GameState()), 2, 100_010);
+        int session = table.openSession();
+        assertTrue(table.placeTicket(session, List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)));
+        assertFalse(table.placeTicket(session, List.of(11, 12, 13, 14, 15, 16, 17, 18, 19, 20)));
+        assertTrue(table.placeTicket(session, List.of(11)));
+        assertEquals(2, table.getPendingTicketCount());
+        assertEquals(2, table.getExposure().getTicketCount());
+        assertEquals(2, table.getTicketCount(session));
+
+        table.drawAndSettle();
+        assertEquals(0, table.getExposure().getTicketCount());
+        assertTrue(table.placeTicket(session, List.of(11, 12, 13, 14, 15, 16, 17, 18, 19, 20)));
+        assertNull(new KenoTable(new GameService(new GameState()), 1).getExposure());
+
+        // While a draw settles, the exposure shown is already that of the next draw
+        KenoTable[] observed = new KenoTable[1];
+        long[] ticketsDuringDraw = {-1};
+        RandomSource observing = () -> {
+            ticketsDuringDraw[0] = observed[0].getExposure().getTicketCount();
+            return 5L;
+        };
+        observed[0] = new KenoTable(new GameService(new GameState(), observing), 2, 100_010);
+        assertTrue(observed[0].placeTicket(observed[0].openSession(), List.of(1, 2, 3)));
+        observed[0].drawAndSettle();
+        assertEquals(0, ticketsDuringDraw[0]);
+    }
 }
@@ -0,0 +1,69 @@
+package Service;
+
+import Model.PrizeTable;
+import Model.SettlementResult;
+import Model.TicketBatch;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorSettlementKernel settles as many tickets per step as the CPU has
+ * long lanes: the packed 80-bit ticket masks are ANDed with the draw and
+ * popcounted lane-wise, then the payouts are gathered from the flat
+ * [spots][hits] table. Tickets left over after the last full step are
+ * settled by the scalar kernel, so results are bit-identical to it.
+ * Built only with the vector profile; needs --add-modules jdk.incubator.vector.
+ */
+public final class VectorSettlementKernel implements SettlementKernel {
+    public static final VectorSettlementKernel INSTANCE = new VectorSettlementKernel();
+
+    // Row stride of the flat payout table
+    private static final int STRIDE = PrizeTable.MAX_SPOTS + 1;
+    // Flat payout table indexed by spots * STRIDE + hits
+    private static final int[] PAYOUTS = PrizeTable.getFlatPayouts();
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = LONGS.length();
+    // Int lanes matching the long lanes one to one
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class, VectorShape.forBitSize(LANES * Integer.SIZE));
+    // Smallest byte species; its first LANES lanes carry the spots and matches
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_64;
+    private static final VectorMask<Byte> BYTE_LANES = BYTES.indexInRange(0, LANES);
+    // Widest load per step, which bounds the vectorized part of a range
+    private static final int STEP_READ = Math.max(LANES, BYTES.length());
+
+    private VectorSettlementKernel() {
+    }
+
+    @Override
+    public void settle(long drawLow, long drawHigh, TicketBatch tickets, SettlementResult result, int from, int to) {
+        long[] lowMasks = tickets.lowMasks();
+        long[] highMasks = tickets.highMasks();
+        byte[] spots = tickets.spots();
+        byte[] matches = result.matches();
+        int[] payouts = result.payouts();
+        // Payout table offsets of one step, the index map of the gather
+        int[] offsets = new int[LANES];
+        int i = from;
+        for (; i <= to - STEP_READ && i <= spots.length - STEP_READ; i += LANES) {
+            LongVector hits = LongVector.fromArray(LONGS, lowMasks, i).and(drawLow).lanewise(VectorOperators.BIT_COUNT)
+                    .add(LongVector.fromArray(LONGS, highMasks, i).and(drawHigh).lanewise(VectorOperators.BIT_COUNT));
+            IntVector hitCounts = (IntVector) hits.convertShape(VectorOperators.L2I, INTS, 0);
+            IntVector spotCounts = (IntVector) ByteVector.fromArray(BYTES, spots, i).convertShape(VectorOperators.B2I, INTS, 0);
+            spotCounts.mul(STRIDE).add(hitCounts).intoArray(offsets, 0);
+            IntVector.fromArray(INTS, PAYOUTS, 0, offsets, 0).intoArray(payouts, i);
+            ((ByteVector) hitCounts.convertShape(VectorOperators.I2B, BYTES, 0)).intoArray(matches, i, BYTE_LANES);
+        }
+        ScalarSettlementKernel.INSTANCE.settle(drawLow, drawHigh, tickets, result, i, to);
+    }
+
+    @Override
+    public String getName() {
+        return "vector";
+    }
+}